@@ -1,13 +1,14 @@
-import React, { useState, useEffect, useCallback, useMemo } from "react";
+import React, { useState, useEffect, useCallback, useMemo, useRef } from "react";
 import axios from "axios";
 import Widget from "../Widget";
 import PopupFilterInput from './PopupFilterInput';
 import type { PopupFilter } from './PopupFilterInput';
 import PopupGrid from "./PopupGrid";
+import { prefetchStructures } from '../../utils/structureApi';
 
 import {
     useTheme, useMediaQuery, Box, Stack, TextField, Button,
-    Table, TableBody, TableCell, TableContainer, TableHead, TableRow, Paper,
+    Table, TableBody, TableCell, TableContainer, TableHead, TableRow, TableFooter, Paper,
     Card, CardContent, Typography, Pagination as MuiPagination, CircularProgress, Alert,
     Select, MenuItem, FormControl, InputLabel
 } from '@mui/material';
@@ -55,12 +56,48 @@ interface StructureConfig {
     order: string;
 }
 
+// 합계(footer) 컬럼: 컬럼명 → 집계 함수(SUM, AVG, MIN, MAX) → 조회 조건에 맞는 전체 행의 집계값
+type Aggregates = { [field: string]: { [func: string]: number | null } };
+
+const AGGREGATE_LABELS: { [func: string]: string } = { SUM: '합계', AVG: '평균', MIN: '최소', MAX: '최대' };
+
+// 큰 CLOB/BLOB 컬럼은 값 대신 핸들로 전달되며, 내용은 /api/lob/{lobId}?usiteNo= 에서 내려받습니다.
+interface LobHandle {
+    lobId: string;
+    lobType: 'CLOB' | 'BLOB';
+    length: number;
+    usiteNo: number;
+}
+
 interface GridRow {
     [key: string]: string | number | boolean | null | undefined;
 }
 
+const isLobHandle = (value: unknown): value is LobHandle =>
+    typeof value === 'object' && value !== null && 'lobId' in value;
+
+// 셀 값을 표시용으로 변환합니다. LOB 핸들은 내려받기 링크로 표시합니다.
+const renderCellValue = (col: ColModel, val: unknown): React.ReactNode => {
+    if (isLobHandle(val)) {
+        return (
+            <a href={`/api/lob/${val.lobId}?usiteNo=${val.usiteNo}`} target="_blank" rel="noopener noreferrer" onClick={(e) => e.stopPropagation()}>
+                {val.lobType === 'CLOB' ? `내용 보기 (${val.length.toLocaleString()}자)` : `내려받기 (${val.length.toLocaleString()} bytes)`}
+            </a>
+        );
+    }
+    const cellVal = val as GridRow[string];
+    return col.type === 'date' && cellVal ? new Date(cellVal as string).toISOString().slice(0, 10) : cellVal?.toString();
+};
+
 type FilterValue = string | number | boolean | null | undefined;
 
+// 필터에 배치된 팝업들의 화면 구성 이름 (그리드를 연 뒤 /api/structures 로 한 번에 미리 받아 둡니다)
+const collectPopupStructureNames = (filterView: (FilterItem | FilterRow)[]): string[] =>
+    filterView
+        .flatMap(entry => ('TD' in entry ? entry.TD : [entry]))
+        .filter((item): item is PopupFilter => item.type === 'popup')
+        .map(item => item.structureName);
+
 interface DynamicGridWidgetProps {
     structureName: string;
     onRowClick?: (row: GridRow) => void;
@@ -102,6 +139,8 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
     const [totalCount, setTotalCount] = useState(0);
 
+    const [aggregates, setAggregates] = useState<Aggregates | null>(null);
+
     const [pageSize, setPageSize] = useState(10);
 
     
@@ -132,6 +171,8 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
     const isMobile = useMediaQuery(theme.breakpoints.down('md'));
 
+    const projectColumns = !onRowClick;
+
 
 
     useEffect(() => {
@@ -148,6 +189,16 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
 
 
+    // 화면 구성 정보와 함께 받은 첫 페이지의 크기. 같은 조건의 첫 조회 요청을 생략하는 데 사용합니다.
+
+    const bootstrapPageSizeRef = useRef<number | null>(null);
+
+    const pageSizeRef = useRef(pageSize);
+
+    pageSizeRef.current = pageSize;
+
+
+
     const fetchStructure = useCallback(async () => {
 
         setIsLoading(true);
@@ -162,9 +213,25 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
             const usiteNo = user?.M_USITE_NO || 1;
 
-            const response = await axios.get('/api/data/execute', {
+            const size = pageSizeRef.current;
+
+            // 화면 구성 정보와 첫 페이지 데이터를 한 번의 요청으로 받아옵니다.
+
+            const response = await axios.get('/api/data/grid', {
+
+                params: {
+
+                    structureName,
+
+                    usiteNo,
+
+                    UID: user?.M_USER_NO || null,
 
-                params: { serviceName: 'M_STRUCTURE', methodName: 'MVIEW', structureName, usiteNo }
+                    _size: size,
+
+                    ...(projectColumns ? { _structure: structureName } : {}),
+
+                }
 
             });
 
@@ -172,8 +239,20 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
                 const parsedConfig = JSON.parse(response.data.structureCont);
 
+                bootstrapPageSizeRef.current = size;
+
+                setGridData(response.data.data || []);
+
+                setTotalCount(response.data.totalCount || 0);
+
+                setAggregates(response.data.aggregates || null);
+
                 setStructureConfig(parsedConfig);
 
+                setIsLoading(false);
+
+                prefetchStructures(collectPopupStructureNames(parsedConfig.filterView || []));
+
             } else {
 
                 throw new Error("화면 구성 정보를 찾을 수 없습니다.");
@@ -190,7 +269,7 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
         }
 
-    }, [structureName]);
+    }, [structureName, projectColumns]);
 
 
 
@@ -252,6 +331,10 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
                     _size: pageSize,
 
+                    // 화면에 표시되는 컬럼만 조회합니다. 행 선택 콜백이 있으면 숨은 컬럼이 필요할 수 있어 전체를 조회합니다.
+
+                    ...(projectColumns ? { _structure: structureName } : {}),
+
                     ...appliedFilters,
 
                 }
@@ -264,6 +347,8 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
             setTotalCount(responseData?.totalCount || 0);
 
+            setAggregates(responseData?.aggregates || null);
+
         } catch (err) {
 
             setError('데이터를 불러오는 데 실패했습니다.');
@@ -276,7 +361,7 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
         }
 
-    }, [structureConfig, searchFilters, dateFilterValues, popupFilterValues, pageSize]);
+    }, [structureConfig, searchFilters, dateFilterValues, popupFilterValues, pageSize, structureName, projectColumns]);
 
 
 
@@ -288,11 +373,23 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
 
         if (structureConfig) {
 
+            // 첫 페이지는 화면 구성 정보와 함께 이미 받았으므로 다시 조회하지 않습니다.
+
+            if (bootstrapPageSizeRef.current !== null && bootstrapPageSizeRef.current === pageSize && currentPage === 1) {
+
+                bootstrapPageSizeRef.current = null;
+
+                return;
+
+            }
+
+            bootstrapPageSizeRef.current = null;
+
             fetchData(currentPage);
 
         }
 
-    }, [structureConfig, currentPage, fetchData]);
+    }, [structureConfig, currentPage, fetchData, pageSize]);
 
     
 
@@ -716,14 +813,25 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
                 <TableBody>
                     {gridData.map((row, i) => (
                         <TableRow key={row[structureConfig.keyName]?.toString() ?? i} hover={!!onRowClick} onClick={() => onRowClick?.(row)} sx={{ cursor: onRowClick ? 'pointer' : 'default' }}>
-                            {structureConfig.colModel.map(col => {
-                                const val = row[col.field];
-                                const displayVal = col.type === 'date' && val ? new Date(val as string).toISOString().slice(0, 10) : val;
-                                return <TableCell key={col.field} align={col.align || 'left'}>{displayVal?.toString()}</TableCell>
-                            })}
+                            {structureConfig.colModel.map(col => (
+                                <TableCell key={col.field} align={col.align || 'left'}>{renderCellValue(col, row[col.field])}</TableCell>
+                            ))}
                         </TableRow>
                     ))}
                 </TableBody>
+                {aggregates && (
+                    <TableFooter sx={{ backgroundColor: theme.palette.grey[50] }}>
+                        <TableRow>
+                            {structureConfig.colModel.map(col => (
+                                <TableCell key={col.field} align={col.align || 'left'} sx={{ fontWeight: 'bold', color: 'text.primary' }}>
+                                    {Object.entries(aggregates[col.field] || {}).map(([func, value]) => (
+                                        <div key={func}>{AGGREGATE_LABELS[func] || func} {value != null ? Number(value).toLocaleString() : '-'}</div>
+                                    ))}
+                                </TableCell>
+                            ))}
+                        </TableRow>
+                    </TableFooter>
+                )}
             </Table>
         </TableContainer>
     );
@@ -737,7 +845,7 @@ const DynamicGridWidget: React.FC<DynamicGridWidgetProps> = ({ structureName, on
                             <Box key={col.field} sx={{ display: 'flex', justifyContent: 'space-between', py: 0.5 }}>
                                 <Typography variant="body2" sx={{ fontWeight: 'bold' }}>{col.label}</Typography>
                                 <Typography variant="body1">
-                                    {col.type === 'date' && row[col.field] ? new Date(row[col.field] as string).toISOString().slice(0, 10) : row[col.field]?.toString()}
+                                    {renderCellValue(col, row[col.field])}
                                 </Typography>
                             </Box>
                         ))}
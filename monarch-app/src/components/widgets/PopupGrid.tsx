@@ -1,5 +1,11 @@
-import React from 'react';
+import React, { useEffect, useRef, useState } from 'react';
+import axios from 'axios';
+import {
+    Box, CircularProgress, TextField,
+    Table, TableBody, TableCell, TableContainer, TableHead, TableRow, Paper
+} from '@mui/material';
 import DynamicGridWidget from './DynamicGridWidget';
+import { fetchStructures } from '../../utils/structureApi';
 import styles from './PopupGrid.module.css';
 
 export interface GridRow {
@@ -13,13 +19,143 @@ interface PopupGridProps {
     title?: string;
 }
 
+// 팝업 화면 구성 중 메모리 캐시 검색(/api/lookup)에 필요한 정보
+interface LookupStructure {
+    service: string;
+    method: string;
+    colModel: { label: string; field: string; align?: 'left' | 'center' | 'right' }[];
+}
+
+/** 검색어 입력 후 요청을 보내기까지 기다리는 시간 (ms) */
+const SEARCH_DEBOUNCE_MS = 200;
+/** 한 번에 표시할 최대 검색 결과 수 */
+const LOOKUP_LIMIT = 50;
+
+const currentUsiteNo = (): number => {
+    const storedUser = sessionStorage.getItem('user');
+    const user = storedUser ? JSON.parse(storedUser) : {};
+    return user?.M_USITE_NO || 1;
+};
+
+const searchLookup = async (structure: LookupStructure, query: string): Promise<GridRow[]> => {
+    const response = await axios.get('/api/lookup', {
+        params: {
+            serviceName: structure.service,
+            methodName: structure.method,
+            q: query,
+            limit: LOOKUP_LIMIT,
+            usiteNo: currentUsiteNo(),
+        }
+    });
+    return response.data || [];
+};
+
+/**
+ * 팝업 검색 화면.
+ * 팝업의 서비스가 코드 테이블 캐시(monarch.services[n].lookup) 대상이면 입력할 때마다 DB를 조회하지 않고 /api/lookup 에서 검색하고,
+ * 캐시 대상이 아니면 기존처럼 그리드(DynamicGridWidget)로 조회합니다.
+ */
 const PopupGrid: React.FC<PopupGridProps> = ({ structureName, onSelect, onClose, title }) => {
-    
+    const [mode, setMode] = useState<'loading' | 'lookup' | 'grid'>('loading');
+    const [lookupStructure, setLookupStructure] = useState<LookupStructure | null>(null);
+    const [query, setQuery] = useState('');
+    const [rows, setRows] = useState<GridRow[]>([]);
+    // 늦게 도착한 이전 검색어의 응답이 최신 결과를 덮어쓰지 않도록 요청 순번을 확인합니다.
+    const requestSeqRef = useRef(0);
+
+    useEffect(() => {
+        let cancelled = false;
+        setMode('loading');
+        (async () => {
+            try {
+                const structures = await fetchStructures([structureName]);
+                const structureCont = structures[structureName];
+                if (!structureCont) throw new Error(`Structure not found: ${structureName}`);
+                const structure = JSON.parse(structureCont) as LookupStructure;
+                // 캐시 대상이 아닌 서비스는 404로 응답하므로 그리드로 조회합니다.
+                const initialRows = await searchLookup(structure, '');
+                if (cancelled) return;
+                setLookupStructure(structure);
+                setRows(initialRows);
+                setMode('lookup');
+            } catch {
+                if (!cancelled) setMode('grid');
+            }
+        })();
+        return () => { cancelled = true; };
+    }, [structureName]);
+
+    useEffect(() => {
+        if (mode !== 'lookup' || !lookupStructure) return;
+        const seq = ++requestSeqRef.current;
+        const timer = setTimeout(async () => {
+            try {
+                const result = await searchLookup(lookupStructure, query);
+                if (seq === requestSeqRef.current) setRows(result);
+            } catch (err) {
+                console.error('Lookup search error:', err);
+            }
+        }, SEARCH_DEBOUNCE_MS);
+        return () => clearTimeout(timer);
+    }, [mode, lookupStructure, query]);
+
     const handleRowClick = (row: GridRow) => {
         onSelect(row);
         onClose(); // 항목 선택 시 자동으로 팝업을 닫습니다.
     };
 
+    const renderContent = () => {
+        if (mode === 'loading') {
+            return <Box sx={{ display: 'flex', justifyContent: 'center', p: 4 }}><CircularProgress /></Box>;
+        }
+        if (mode === 'grid' || !lookupStructure) {
+            return (
+                <DynamicGridWidget
+                    structureName={structureName}
+                    onRowClick={handleRowClick}
+                />
+            );
+        }
+        return (
+            <Box sx={{ p: 2 }}>
+                <TextField
+                    label="검색"
+                    variant="outlined"
+                    size="small"
+                    value={query}
+                    onChange={(e) => setQuery(e.target.value)}
+                    autoFocus
+                    fullWidth
+                    sx={{ mb: 2 }}
+                />
+                <TableContainer component={Paper}>
+                    <Table size="small">
+                        <TableHead>
+                            <TableRow>
+                                {lookupStructure.colModel.map(col => (
+                                    <TableCell key={col.field} align={col.align || 'left'}>{col.label}</TableCell>
+                                ))}
+                            </TableRow>
+                        </TableHead>
+                        <TableBody>
+                            {rows.length === 0 ? (
+                                <TableRow>
+                                    <TableCell colSpan={lookupStructure.colModel.length} align="center">검색 결과가 없습니다.</TableCell>
+                                </TableRow>
+                            ) : rows.map((row, idx) => (
+                                <TableRow key={idx} hover sx={{ cursor: 'pointer' }} onClick={() => handleRowClick(row)}>
+                                    {lookupStructure.colModel.map(col => (
+                                        <TableCell key={col.field} align={col.align || 'left'}>{row[col.field]?.toString()}</TableCell>
+                                    ))}
+                                </TableRow>
+                            ))}
+                        </TableBody>
+                    </Table>
+                </TableContainer>
+            </Box>
+        );
+    };
+
     return (
         <div className={styles.popupOverlay} onClick={onClose}>
             <div className={styles.popupContainer} onClick={(e) => e.stopPropagation()}>
@@ -28,10 +164,7 @@ const PopupGrid: React.FC<PopupGridProps> = ({ structureName, onSelect, onClose,
                     <button onClick={onClose} className={styles.closeBtn} title="닫기">&times;</button>
                 </div>
                 <div className={styles.popupContent}>
-                    <DynamicGridWidget
-                        structureName={structureName}
-                        onRowClick={handleRowClick}
-                    />
+                    {renderContent()}
                 </div>
             </div>
         </div>
@@ -1,5 +1,4 @@
 import React, { useState, useEffect } from "react";
-import axios from "axios";
 import { Chart } from "react-google-charts";
 // ListPage.module.css를 사용하여 테이블 스타일을 일관성 있게 적용합니다.
 import styles from "../../../styles/ListPage.module.css";
@@ -33,45 +32,50 @@ const SalesStatusWidget: React.FC = () => {
     const [error, setError] = useState<string | null>(null);
 
     useEffect(() => {
-        const fetchSalesStatusData = async () => {
-            setIsLoading(true);
-            setError(null);
-            try {
-                const storedUser = sessionStorage.getItem('user');
-                const user = storedUser ? JSON.parse(storedUser) : {};
-                const usite = user?.M_USITE_NO || 1;
-                const uid = user?.M_USER_NO || null;
-                const response = await axios.get('/api/data/execute', {
-                    params: {
-                        serviceName: API_CONFIG.SERVICE_NAME,
-                        methodName: API_CONFIG.METHOD_NAME,
-                        USITE: usite,
-                        UID: uid,
-                        _sort: 'SALESTATE ASC', // 정렬 조건 추가
-                    }
-                });
+        const storedUser = sessionStorage.getItem('user');
+        const user = storedUser ? JSON.parse(storedUser) : {};
+        const usite = user?.M_USITE_NO || 1;
+        // 회원사 전체 집계이므로 사용자 번호(UID)는 보내지 않습니다. (서버의 집계 스냅샷을 그대로 공유)
+        const params = new URLSearchParams({
+            serviceName: API_CONFIG.SERVICE_NAME,
+            methodName: API_CONFIG.METHOD_NAME,
+            USITE: String(usite),
+            _sort: 'SALESTATE ASC', // 정렬 조건 추가
+        });
 
-                // API 응답 데이터를 Google Charts 형식에 맞게 변환합니다.
-                const formattedData: SalesStatusData[] = [["영업 단계", "건수"]]; // 차트 헤더
-                // API 응답은 객체를 담은 배열 형태이므로 첫 번째 요소를 사용합니다.
-                const result: ApiResponse = response.data[0];
-                const actualData = result?.data || [];
-                actualData.forEach((item: SalesStatusItem) => {
-                    // 건수가 0보다 큰 항목만 차트에 추가합니다.
-                    if (Number(item.PRIORITY6M) > 0) {
-                        formattedData.push([item.SALESTATE_NM, Number(item.PRIORITY6M)]);
-                    }
-                });
-                setChartData(formattedData);
-            } catch (err) {
+        // 주기적으로 다시 조회하는 대신 서버의 실시간 구독(SSE)을 사용합니다.
+        // 구독 즉시 현재 데이터를 받고, 이후 데이터가 바뀔 때마다 다시 받습니다.
+        setIsLoading(true);
+        setError(null);
+        let received = false;
+        const eventSource = new EventSource(`/api/data/subscribe?${params.toString()}`, { withCredentials: true });
+        eventSource.addEventListener('data', (event) => {
+            // API 응답 데이터를 Google Charts 형식에 맞게 변환합니다.
+            const formattedData: SalesStatusData[] = [["영업 단계", "건수"]]; // 차트 헤더
+            // API 응답은 객체를 담은 배열 형태이므로 첫 번째 요소를 사용합니다.
+            const result: ApiResponse = JSON.parse((event as MessageEvent).data)[0];
+            const actualData = result?.data || [];
+            actualData.forEach((item: SalesStatusItem) => {
+                // 건수가 0보다 큰 항목만 차트에 추가합니다.
+                if (Number(item.PRIORITY6M) > 0) {
+                    formattedData.push([item.SALESTATE_NM, Number(item.PRIORITY6M)]);
+                }
+            });
+            received = true;
+            setChartData(formattedData);
+            setError(null);
+            setIsLoading(false);
+        });
+        eventSource.onerror = (err) => {
+            // 연결이 끊기면 브라우저가 자동으로 재연결합니다. 아직 데이터를 받지 못한 경우에만 오류를 표시합니다.
+            console.error('Sales status subscription error:', err);
+            if (!received) {
                 setError('매출 상태 정보를 불러오는 데 실패했습니다.');
-                console.error('Sales status data fetch error:', err);
-            } finally {
                 setIsLoading(false);
             }
         };
 
-        fetchSalesStatusData();
+        return () => eventSource.close();
     }, []);
 
     const chartOptions = {
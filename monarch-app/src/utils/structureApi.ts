@@ -0,0 +1,70 @@
+import axios from 'axios';
+
+/** /api/structures 한 번의 요청으로 받을 수 있는 최대 화면 수 (서버의 MAX_BUNDLE_SIZE) */
+const MAX_BUNDLE_SIZE = 100;
+/** 받은 화면 구성을 다시 요청하지 않고 사용하는 시간 (ms) */
+const CACHE_TTL_MS = 60 * 1000;
+
+/** 받은 화면 구성. 키: "회원사번호:화면이름" */
+const resolved = new Map<string, { structure: string | null; expiresAt: number }>();
+/** 진행 중인 요청. 같은 화면 구성을 동시에 여러 곳에서 요청해도 한 번만 보냅니다. */
+const pending = new Map<string, Promise<string | null>>();
+
+const currentUsiteNo = (): number => {
+    const storedUser = sessionStorage.getItem('user');
+    const user = storedUser ? JSON.parse(storedUser) : {};
+    return user?.M_USITE_NO || 1;
+};
+
+/**
+ * 여러 화면 구성(M_STRUCTURE) 정보를 /api/structures 에서 한 번에 받아옵니다.
+ * 최근 CACHE_TTL_MS 안에 받은 화면 구성은 요청하지 않으며, 나머지만 묶어서 요청합니다.
+ * @param names 화면 이름 목록
+ * @returns 화면 이름 → 정리된 화면 구성 JSON 문자열 (존재하지 않는 화면은 null)
+ */
+export const fetchStructures = async (names: string[]): Promise<{ [name: string]: string | null }> => {
+    const usiteNo = currentUsiteNo();
+    const now = Date.now();
+    const uniqueNames = Array.from(new Set(names.filter(Boolean)));
+    const requests = new Map<string, Promise<string | null>>();
+    const toFetch: string[] = [];
+    uniqueNames.forEach(name => {
+        const key = `${usiteNo}:${name}`;
+        const cached = resolved.get(key);
+        const inFlight = pending.get(key);
+        if (cached && cached.expiresAt > now) {
+            requests.set(name, Promise.resolve(cached.structure));
+        } else if (inFlight) {
+            requests.set(name, inFlight);
+        } else {
+            toFetch.push(name);
+        }
+    });
+
+    for (let i = 0; i < toFetch.length; i += MAX_BUNDLE_SIZE) {
+        const chunk = toFetch.slice(i, i + MAX_BUNDLE_SIZE);
+        const request = axios.get('/api/structures', { params: { names: chunk.join(','), usiteNo } });
+        chunk.forEach(name => {
+            const key = `${usiteNo}:${name}`;
+            const structure = request
+                .then(response => {
+                    const value = (response.data?.structures?.[name] as string | undefined) ?? null;
+                    resolved.set(key, { structure: value, expiresAt: Date.now() + CACHE_TTL_MS });
+                    return value;
+                })
+                .finally(() => pending.delete(key));
+            pending.set(key, structure);
+            requests.set(name, structure);
+        });
+    }
+
+    const entries = await Promise.all(uniqueNames.map(async name => [name, (await requests.get(name)) ?? null] as const));
+    return Object.fromEntries(entries);
+};
+
+/**
+ * 화면에서 곧 사용할 화면 구성(팝업 등)을 미리 한 번에 받아 둡니다. 실패해도 실제로 사용할 때 다시 요청하므로 무시합니다.
+ */
+export const prefetchStructures = (names: string[]): void => {
+    fetchStructures(names).catch(() => undefined);
+};
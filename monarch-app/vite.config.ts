@@ -1,13 +1,46 @@
 // Vite 설정을 위한 defineConfig 함수를 가져옵니다.
 import { defineConfig } from 'vite'
+import type { Plugin } from 'vite'
 // React 프로젝트를 위한 Vite 플러그인을 가져옵니다.
 import react from '@vitejs/plugin-react';
 import path from 'path';
+import fs from 'fs';
+import zlib from 'zlib';
+
+// 빌드 결과 중 텍스트 파일(js, css, html, svg 등)의 gzip(.gz), brotli(.br) 압축본을 함께 생성합니다.
+// Spring 서버는 브라우저의 Accept-Encoding에 맞는 압축본을 그대로 전송하므로, 요청마다 압축하지 않습니다.
+const COMPRESSIBLE = /\.(js|mjs|css|html|svg|json|txt)$/;
+const MIN_COMPRESS_SIZE = 1024;
+
+function precompress(): Plugin {
+  return {
+    name: 'monarch-precompress',
+    apply: 'build',
+    writeBundle(options, bundle) {
+      const outDir = options.dir ?? path.resolve(__dirname, 'dist');
+      for (const fileName of Object.keys(bundle)) {
+        if (!COMPRESSIBLE.test(fileName)) continue;
+        const filePath = path.join(outDir, fileName);
+        const content = fs.readFileSync(filePath);
+        if (content.length < MIN_COMPRESS_SIZE) continue;
+        fs.writeFileSync(filePath + '.gz', zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }));
+        fs.writeFileSync(filePath + '.br', zlib.brotliCompressSync(content, {
+          params: { [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY },
+        }));
+      }
+    },
+  };
+}
 
 // Vite 설정을 정의하고 내보냅니다.
 export default defineConfig({
-  // 사용할 플러그인 목록을 설정합니다. 여기서는 React 플러그인을 사용합니다.
-  plugins: [react()],
+  // 사용할 플러그인 목록을 설정합니다. React 플러그인과 빌드 결과 사전 압축 플러그인을 사용합니다.
+  plugins: [react(), precompress()],
+  // 빌드 설정을 정의합니다.
+  build: {
+    // 번들 파일은 내용 해시가 포함된 이름으로 assets/ 아래에 생성됩니다. (서버는 이 경로를 변경되지 않는 파일로 캐시합니다)
+    assetsDir: 'assets',
+  },
   // 모듈 경로를 해석하는 방식을 설정합니다.
   resolve: {
     // 경로 별칭(alias)을 설정합니다.
@@ -3,6 +3,7 @@ package com.kydbm.monarch;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 
 /**
@@ -15,16 +16,23 @@ import org.springframework.boot.web.servlet.support.SpringBootServletInitializer
 @SpringBootApplication
 public class MonarchApplication extends SpringBootServletInitializer {
 
+	/** 기동 시간 리포트(StartupReportListener)를 위해 보관하는 기동 단계 기록의 최대 개수 */
+	private static final int STARTUP_STEP_CAPACITY = 8192;
+
 	/**
 	 * 애플리케이션의 메인 메소드. 이 메소드가 실행되면서 내장 웹 서버(Tomcat)가 시작되고 Spring 애플리케이션이 구동됩니다.
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(MonarchApplication.class, args);
+		SpringApplication application = new SpringApplication(MonarchApplication.class);
+		// 기동 단계별 소요 시간을 기록합니다. 기동이 끝나면 리포트 작성 후 비워집니다.
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 	@Override
 	protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
-		return application.sources(MonarchApplication.class);
+		return application.sources(MonarchApplication.class)
+				.applicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
 	}
 
 }
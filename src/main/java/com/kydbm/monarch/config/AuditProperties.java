@@ -0,0 +1,102 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * `application.properties` 파일의 'monarch.audit' 설정값을 바인딩합니다.
+ * DML 서비스 실행 이력(감사 로그)을 메모리 대기열에 쌓았다가 일괄 저장하는 방식을 결정합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monarch.audit")
+public class AuditProperties {
+
+    /** 대기열이 가득 찼을 때의 처리 방식 */
+    public enum OverflowPolicy {
+        /** 새로 들어온 감사 이벤트를 버립니다. */
+        DROP_NEWEST,
+        /** 가장 오래된 감사 이벤트를 버리고 새 이벤트를 넣습니다. */
+        DROP_OLDEST,
+        /** 요청 스레드에서 즉시 저장합니다. (유실은 없지만 해당 요청의 응답이 늦어집니다.) */
+        CALLER_RUNS
+    }
+
+    /** 감사 로그 기록 여부 */
+    private boolean enabled = true;
+
+    /** 메모리 대기열의 최대 건수 */
+    private int queueCapacity = 10000;
+
+    /** 한 번의 JDBC 배치로 저장하는 최대 건수 */
+    private int batchSize = 200;
+
+    /** 대기열을 비우는 주기 (단위: ms) */
+    private long flushInterval = 1000;
+
+    /** 대기열이 가득 찼을 때의 처리 방식 */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+    /** 종료 시 남은 감사 이벤트를 저장하며 기다리는 최대 시간 */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /** DB에 저장하지 못한 감사 이벤트를 한 줄에 하나씩 JSON으로 남기는 파일 */
+    private String deadLetterFile = System.getProperty("java.io.tmpdir") + "/monarch-audit-dead-letter.jsonl";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public String getDeadLetterFile() {
+        return deadLetterFile;
+    }
+
+    public void setDeadLetterFile(String deadLetterFile) {
+        this.deadLetterFile = deadLetterFile;
+    }
+}
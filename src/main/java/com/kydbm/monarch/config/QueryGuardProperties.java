@@ -0,0 +1,125 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * `application.properties` 파일의 'monarch.guard' 설정값을 바인딩합니다.
+ * 서비스 메소드(serviceName, methodName)별 적응형 동시 실행 제한과 서킷 브레이커의 동작을 결정합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monarch.guard")
+public class QueryGuardProperties {
+
+    /** 동시 실행 제한 및 서킷 브레이커 사용 여부 */
+    private boolean enabled = true;
+
+    /** 서비스 메소드별 최초 동시 실행 허용 수 */
+    private int initialLimit = 10;
+
+    /** 지연 시간이 아무리 높아져도 보장하는 최소 동시 실행 허용 수 */
+    private int minLimit = 1;
+
+    /** 지연 시간이 낮을 때 늘어날 수 있는 최대 동시 실행 허용 수 */
+    private int maxLimit = 40;
+
+    /** 기준 지연 시간 대비 허용 배율. 관측 지연 시간이 이 배율을 넘으면 허용 수를 줄입니다. */
+    private double latencyTolerance = 2.0;
+
+    /** 허용 수를 줄일 때 곱하는 비율 (0~1) */
+    private double backoffRatio = 0.9;
+
+    /** 허용 수를 줄이는 최소 간격. 한 구간 안에서는 지연이 계속 높아도 한 번만 줄입니다. (최근 평균 지연 시간보다 짧으면 평균 지연 시간을 사용) */
+    private Duration sampleWindow = Duration.ofSeconds(1);
+
+    /** 이 시간 이상 걸린 호출은 타임아웃과 동일하게 취급합니다. */
+    private Duration slowCallThreshold = Duration.ofSeconds(20);
+
+    /** 서킷을 여는(OPEN) 연속 타임아웃 횟수 */
+    private int failureThreshold = 5;
+
+    /** 서킷이 열린 뒤 복구 확인(HALF_OPEN)을 시도하기까지 기다리는 시간 */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public Duration getSampleWindow() {
+        return sampleWindow;
+    }
+
+    public void setSampleWindow(Duration sampleWindow) {
+        this.sampleWindow = sampleWindow;
+    }
+
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    public void setSlowCallThreshold(Duration slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+}
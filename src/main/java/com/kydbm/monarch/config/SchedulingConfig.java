@@ -0,0 +1,12 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * `@Scheduled` 어노테이션 기반의 주기 작업(캐시 갱신 등)을 활성화합니다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -9,6 +9,7 @@ import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -38,6 +39,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // "/api/login" 등 특정 경로는 인증 없이 누구나 접근할 수 있도록 허용합니다.
                         .requestMatchers("/api/login", "/api/logout", "/api/hello", "/").permitAll()
+                        // 관리자 API는 ROLE_ADMIN 권한(monarch.security.admin-users 에 지정된 사용자)이 있어야 접근할 수 있습니다.
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // 그 외 "/api/**"로 시작하는 모든 경로는 반드시 인증(로그인)된 사용자만 접근 가능하도록 설정합니다.
                         .requestMatchers("/api/**").authenticated()
                         // 위에서 지정하지 않은 나머지 모든 요청(예: React 정적 파일)은 허용합니다.
@@ -62,10 +65,21 @@ public class SecurityConfig {
                 .exceptionHandling(e -> e
                         // 인증되지 않은 사용자가 보호된 리소스에 접근하면, HTTP 401(Unauthorized) 상태 코드를 응답합니다.
                         .authenticationEntryPoint((request, response, authException) -> response.setStatus(HttpStatus.UNAUTHORIZED.value()))
+                        // 로그인했지만 권한이 없는 사용자가 관리자 API에 접근하면, HTTP 403(Forbidden) 상태 코드를 응답합니다.
+                        .accessDeniedHandler((request, response, accessDeniedException) -> response.setStatus(HttpStatus.FORBIDDEN.value()))
                 );
         return http.build();
     }
 
+    /**
+     * React 빌드 결과(정적 파일) 경로는 보안 필터 체인을 거치지 않도록 제외합니다.
+     * 인증이 필요 없는 공개 파일이므로, 요청마다 세션 조회와 필터 처리 비용을 들이지 않습니다.
+     */
+    @Bean
+    public WebSecurityCustomizer webSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers(StaticResourceConfig.HASHED_ASSET_PATTERN, "/index.html", "/*.svg", "/favicon.ico");
+    }
+
     /**
      * 실제 인증을 처리하는 `AuthenticationManager`를 생성하여 Spring 컨테이너에 Bean으로 등록합니다.
      * 여러 인증 로직(Provider)을 관리할 수 있습니다.
@@ -0,0 +1,48 @@
+package com.kydbm.monarch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kydbm.monarch.service.RequestTiming;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 동적 쿼리 API(`/api/data/execute`)의 `Server-Timing` 기록 설정.
+ * 필터는 보안 필터 체인보다 먼저 실행되며, 컨트롤러 진입 시점까지의 시간을 `auth`(인증/세션 처리) 단계로 기록합니다.
+ */
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private static final String TIMED_PATH = "/api/data/execute";
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ObjectMapper objectMapper,
+                                                                         @Value("${monarch.timing.enabled:true}") boolean enabled,
+                                                                         @Value("${monarch.timing.sample-rate:0}") int sampleRate) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(objectMapper, sampleRate));
+        registration.addUrlPatterns(TIMED_PATH);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+                RequestTiming.recordSinceStart("auth");
+                return true;
+            }
+        }).addPathPatterns(TIMED_PATH);
+    }
+}
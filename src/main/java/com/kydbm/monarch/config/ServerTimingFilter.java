@@ -0,0 +1,75 @@
+package com.kydbm.monarch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kydbm.monarch.service.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동적 쿼리 API 응답에 단계별 소요 시간을 `Server-Timing` 헤더로 추가하는 필터.
+ * `_timing=1` 파라미터로 요청했거나 표본(N건 중 1건)으로 선택된 요청만 기록하며, 그 외 요청에는 비용이 들지 않습니다.
+ * 헤더는 본문보다 먼저 전송되어야 하므로 기록 대상 요청의 응답 본문만 메모리에 모았다가 헤더와 함께 보냅니다.
+ * `_timing=debug`로 요청하면 본문을 `{"response": 원래 응답, "timing": {단계별 소요 시간}}` 형태로 감싸서 반환합니다.
+ * 보안 필터보다 먼저 실행되어 인증 처리 시간(`auth`)도 함께 기록합니다.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String TIMING_PARAM = "_timing";
+    private static final String DEBUG = "debug";
+
+    private final ObjectMapper objectMapper;
+    /** N건 중 1건을 기록합니다. 0이면 `_timing` 파라미터로 요청한 경우만 기록합니다. */
+    private final int sampleRate;
+    private final AtomicLong counter = new AtomicLong();
+
+    public ServerTimingFilter(ObjectMapper objectMapper, int sampleRate) {
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String timingParam = request.getParameter(TIMING_PARAM);
+        boolean requested = timingParam != null && !timingParam.isBlank() && !"0".equals(timingParam);
+        boolean sampled = sampleRate > 0 && counter.getAndIncrement() % sampleRate == 0;
+        if (!requested && !sampled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.begin();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.end();
+        }
+        timing.finish();
+        wrapper.setHeader("Server-Timing", timing.toHeaderValue());
+
+        if (DEBUG.equalsIgnoreCase(timingParam) && wrapper.getContentType() != null
+                && wrapper.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE)) {
+            byte[] body = wrapper.getContentAsByteArray();
+            byte[] trailer = objectMapper.writeValueAsBytes(timing.toMap());
+            wrapper.resetBuffer();
+            ServletOutputStream out = wrapper.getOutputStream();
+            out.write("{\"response\":".getBytes(StandardCharsets.UTF_8));
+            out.write(body.length > 0 ? body : "null".getBytes(StandardCharsets.UTF_8));
+            out.write(",\"timing\":".getBytes(StandardCharsets.UTF_8));
+            out.write(trailer);
+            out.write('}');
+        }
+        wrapper.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,380 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * `application.properties` 파일의 'monarch.services' 설정값을 바인딩합니다.
+ * M_SERVICE 테이블의 서비스 메소드(serviceName, methodName)별 부가 실행 옵션을 정의합니다.
+ * 예:
+ * <pre>
+ * monarch.services[0].service-name=M_CUSTOMER
+ * monarch.services[0].method-name=POPUP_LIST
+ * monarch.services[0].lookup.display-fields=CUST_CODE,CUST_NAME
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monarch")
+public class ServiceOptionsProperties {
+
+    /** 서비스 메소드별 옵션 목록 */
+    private List<ServiceOptions> services = new ArrayList<>();
+
+    public List<ServiceOptions> getServices() {
+        return services;
+    }
+
+    public void setServices(List<ServiceOptions> services) {
+        this.services = services;
+    }
+
+    /**
+     * 서비스 메소드에 해당하는 옵션을 찾습니다.
+     * @param serviceName M_SERVICE 테이블의 SERVICE_NAME 컬럼 값
+     * @param methodName M_SERVICE 테이블의 METHOD_NAME 컬럼 값
+     * @return 해당 서비스 메소드의 옵션 (설정되지 않았으면 빈 Optional)
+     */
+    public Optional<ServiceOptions> find(String serviceName, String methodName) {
+        return services.stream()
+                .filter(options -> options.getServiceName().equals(serviceName) && options.getMethodName().equals(methodName))
+                .findFirst();
+    }
+
+    /** 서비스 메소드 하나에 대한 옵션 */
+    public static class ServiceOptions {
+
+        /** M_SERVICE 테이블의 SERVICE_NAME 컬럼 값 */
+        private String serviceName;
+
+        /** M_SERVICE 테이블의 METHOD_NAME 컬럼 값 */
+        private String methodName;
+
+        /** 코드/참조 테이블 캐시 설정. 지정하면 팝업 검색(typeahead)을 메모리에서 처리합니다. */
+        private LookupOptions lookup;
+
+        /** 집계 스냅샷 설정. 지정하면 백그라운드에서 주기적으로 실행한 결과로 응답합니다. */
+        private SnapshotOptions snapshot;
+
+        /** 실행 lane 이름 (monarch.lane.lanes 의 키). 지정하지 않으면 실행 타입으로 정해집니다. */
+        private String lane;
+
+        /** 변경분 조회(delta sync) 설정. 지정하면 `_since` 파라미터로 워터마크 이후 변경된 행만 조회할 수 있습니다. */
+        private DeltaOptions delta;
+
+        /**
+         * LIST 합계(footer) 컬럼 설정. 컬럼명 → 집계 함수 목록(SUM, AVG, MIN, MAX)
+         * 지정하면 전체 건수와 함께 조회 조건에 맞는 전체 행의 집계값을 `aggregates`로 반환합니다.
+         */
+        private Map<String, List<String>> aggregates = new LinkedHashMap<>();
+
+        /**
+         * 파라미터 스키마. 파라미터명(@PARAM@) → 타입/형식/필수 여부
+         * 지정된 파라미터는 실행 전에 한 번 검증/변환되어 해당 JDBC 타입으로 바인딩됩니다. (지정하지 않은 파라미터는 문자열 그대로)
+         */
+        private Map<String, ParamSchema> params = new LinkedHashMap<>();
+
+        /** 결과 메모리 한도. 지정하지 않으면 monarch.result-budget 의 기본값을 사용합니다. */
+        private BudgetOptions budget;
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        public void setServiceName(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public void setMethodName(String methodName) {
+            this.methodName = methodName;
+        }
+
+        public LookupOptions getLookup() {
+            return lookup;
+        }
+
+        public void setLookup(LookupOptions lookup) {
+            this.lookup = lookup;
+        }
+
+        public SnapshotOptions getSnapshot() {
+            return snapshot;
+        }
+
+        public void setSnapshot(SnapshotOptions snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        public String getLane() {
+            return lane;
+        }
+
+        public void setLane(String lane) {
+            this.lane = lane;
+        }
+
+        public DeltaOptions getDelta() {
+            return delta;
+        }
+
+        public void setDelta(DeltaOptions delta) {
+            this.delta = delta;
+        }
+
+        public Map<String, List<String>> getAggregates() {
+            return aggregates;
+        }
+
+        public void setAggregates(Map<String, List<String>> aggregates) {
+            this.aggregates = aggregates;
+        }
+
+        public Map<String, ParamSchema> getParams() {
+            return params;
+        }
+
+        public void setParams(Map<String, ParamSchema> params) {
+            this.params = params;
+        }
+
+        public BudgetOptions getBudget() {
+            return budget;
+        }
+
+        public void setBudget(BudgetOptions budget) {
+            this.budget = budget;
+        }
+    }
+
+    /** 코드/참조 테이블 캐시 옵션 */
+    public static class LookupOptions {
+
+        /** 검색 색인을 만들 표시 컬럼 목록 (예: CUST_CODE, CUST_NAME) */
+        private List<String> displayFields = new ArrayList<>();
+
+        /** 캐시를 DB에서 다시 읽어오는 주기 */
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /** 캐시에 적재할 최대 행 수. 이를 넘는 테이블은 캐시 대상으로 적합하지 않습니다. */
+        private int maxRows = 20000;
+
+        public List<String> getDisplayFields() {
+            return displayFields;
+        }
+
+        public void setDisplayFields(List<String> displayFields) {
+            this.displayFields = displayFields;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public int getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(int maxRows) {
+            this.maxRows = maxRows;
+        }
+    }
+
+    /** 집계 스냅샷 옵션 (대시보드 위젯처럼 무거운 집계를 미리 계산해 두는 서비스) */
+    public static class SnapshotOptions {
+
+        /** 스냅샷을 다시 계산하는 주기 */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /** 기동 직후부터 미리 계산해 둘 회원사 번호 목록. 그 외 회원사는 첫 요청 시 계산됩니다. */
+        private List<Long> usiteNos = new ArrayList<>();
+
+        /** 스냅샷 계산 시 전달할 고정 파라미터 (예: _sort). 요청 파라미터는 사용하지 않습니다. */
+        private Map<String, String> params = new LinkedHashMap<>();
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public List<Long> getUsiteNos() {
+            return usiteNos;
+        }
+
+        public void setUsiteNos(List<Long> usiteNos) {
+            this.usiteNos = usiteNos;
+        }
+
+        public Map<String, String> getParams() {
+            return params;
+        }
+
+        public void setParams(Map<String, String> params) {
+            this.params = params;
+        }
+    }
+
+    /** 파라미터 하나의 스키마 */
+    public static class ParamSchema {
+
+        /** SQL 타입 (java.sql.JDBCType 이름: VARCHAR, CHAR, NUMERIC, INTEGER, BIGINT, DATE, TIMESTAMP 등) */
+        private String type = "VARCHAR";
+
+        /** DATE/TIMESTAMP 값의 입력 형식 (예: yyyyMMdd). 지정하지 않으면 yyyy-MM-dd, yyyy-MM-dd HH:mm:ss */
+        private String format;
+
+        /** 필수 여부. 필수 파라미터가 없거나 비어 있으면 실행하지 않고 오류를 반환합니다. */
+        private boolean required;
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public void setRequired(boolean required) {
+            this.required = required;
+        }
+    }
+
+    /** 결과 메모리 한도 옵션 */
+    public static class BudgetOptions {
+
+        /** 한 요청에서 메모리로 읽을 수 있는 최대 행 수 */
+        private Long maxRows;
+
+        /** 한 요청에서 메모리로 읽을 수 있는 결과의 최대 추정 크기 */
+        private DataSize maxBytes;
+
+        public Long getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(Long maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        public DataSize getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(DataSize maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    /** 변경분 조회(delta sync) 옵션 */
+    public static class DeltaOptions {
+
+        /** 변경 시각(또는 변경 번호) 컬럼 (예: UPD_DATE) */
+        private String changeColumn;
+
+        /** 변경 컬럼의 값 종류. TIMESTAMP(날짜/시각, 워터마크는 epoch ms) 또는 NUMBER */
+        private String changeType = "TIMESTAMP";
+
+        /** 행을 식별하는 키 컬럼. 삭제된 행(tombstone)은 이 컬럼 값만 반환합니다. */
+        private String keyColumn;
+
+        /** 논리 삭제 여부 컬럼 (예: USE_FLAG). 지정하지 않으면 삭제된 행을 알려주지 않습니다. */
+        private String deletedColumn;
+
+        /** 논리 삭제된 행의 deletedColumn 값 (예: N) */
+        private String deletedValue;
+
+        /**
+         * 워터마크보다 이만큼 앞선 시점부터 조회합니다. (TIMESTAMP 전용)
+         * 워터마크 직전에 시작되어 늦게 커밋된 변경을 놓치지 않기 위한 것으로, 클라이언트는 키 컬럼으로 중복을 합칩니다.
+         */
+        private Duration overlap = Duration.ofSeconds(5);
+
+        /** 한 번에 반환하는 최대 변경 행 수. 이를 넘으면 `reset`을 반환하여 전체 다시 조회를 요청합니다. */
+        private int maxRows = 1000;
+
+        public String getChangeColumn() {
+            return changeColumn;
+        }
+
+        public void setChangeColumn(String changeColumn) {
+            this.changeColumn = changeColumn;
+        }
+
+        public String getChangeType() {
+            return changeType;
+        }
+
+        public void setChangeType(String changeType) {
+            this.changeType = changeType;
+        }
+
+        public String getKeyColumn() {
+            return keyColumn;
+        }
+
+        public void setKeyColumn(String keyColumn) {
+            this.keyColumn = keyColumn;
+        }
+
+        public String getDeletedColumn() {
+            return deletedColumn;
+        }
+
+        public void setDeletedColumn(String deletedColumn) {
+            this.deletedColumn = deletedColumn;
+        }
+
+        public String getDeletedValue() {
+            return deletedValue;
+        }
+
+        public void setDeletedValue(String deletedValue) {
+            this.deletedValue = deletedValue;
+        }
+
+        public Duration getOverlap() {
+            return overlap;
+        }
+
+        public void setOverlap(Duration overlap) {
+            this.overlap = overlap;
+        }
+
+        public int getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(int maxRows) {
+            this.maxRows = maxRows;
+        }
+    }
+}
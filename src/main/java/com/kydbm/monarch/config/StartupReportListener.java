@@ -0,0 +1,115 @@
+package com.kydbm.monarch.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 애플리케이션 기동이 끝나면 기동 단계별, 빈(Bean)별 소요 시간을 집계하여 기동 시간 리포트를 작성합니다.
+ * `MonarchApplication`에서 설정한 `BufferingApplicationStartup`의 기록을 사용하며,
+ * 리포트 작성 후에는 기록을 비워 메모리를 반환합니다.
+ */
+@Component
+public class StartupReportListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReportListener.class);
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    private final ApplicationStartup applicationStartup;
+    private final boolean reportEnabled;
+    private final int reportTop;
+    private volatile Map<String, Object> report = Map.of();
+
+    public StartupReportListener(ApplicationStartup applicationStartup,
+                                 @Value("${monarch.startup.report-enabled:false}") boolean reportEnabled,
+                                 @Value("${monarch.startup.report-top:20}") int reportTop) {
+        this.applicationStartup = applicationStartup;
+        this.reportEnabled = reportEnabled;
+        this.reportTop = reportTop;
+    }
+
+    /**
+     * 기동 완료 시 호출되어 리포트를 작성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup bufferingStartup)) {
+            return;
+        }
+        StartupTimeline timeline = bufferingStartup.drainBufferedTimeline();
+
+        // 1. 단계 이름별 소요 시간 합계 (빈 생성 단계는 아래에서 빈별로 따로 집계)
+        Map<String, Long> phaseMillis = new LinkedHashMap<>();
+        // 2. 빈별 자체 소요 시간 = 전체 소요 시간 - 하위 단계(의존 빈 생성 등) 소요 시간
+        Map<Long, Long> selfNanos = new HashMap<>();
+        Map<Long, String> beanNames = new HashMap<>();
+
+        for (StartupTimeline.TimelineEvent timelineEvent : timeline.getEvents()) {
+            StartupStep step = timelineEvent.getStartupStep();
+            long durationNanos = timelineEvent.getDuration().toNanos();
+            selfNanos.merge(step.getId(), durationNanos, Long::sum);
+            if (step.getParentId() != null) {
+                selfNanos.merge(step.getParentId(), -durationNanos, Long::sum);
+            }
+            if (BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                for (StartupStep.Tag tag : step.getTags()) {
+                    if ("beanName".equals(tag.getKey())) {
+                        beanNames.put(step.getId(), tag.getValue());
+                    }
+                }
+            } else if (step.getParentId() == null) {
+                phaseMillis.merge(step.getName(), timelineEvent.getDuration().toMillis(), Long::sum);
+            }
+        }
+
+        List<Map<String, Object>> slowestBeans = new ArrayList<>();
+        beanNames.entrySet().stream()
+                .sorted((a, b) -> Long.compare(selfNanos.getOrDefault(b.getKey(), 0L), selfNanos.getOrDefault(a.getKey(), 0L)))
+                .limit(reportTop)
+                .forEach(entry -> {
+                    Map<String, Object> bean = new LinkedHashMap<>();
+                    bean.put("beanName", entry.getValue());
+                    bean.put("selfMillis", selfNanos.getOrDefault(entry.getKey(), 0L) / 1_000_000);
+                    slowestBeans.add(bean);
+                });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jvmUptimeMillis", ManagementFactory.getRuntimeMXBean().getUptime());
+        result.put("springStartMillis", event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : null);
+        result.put("phases", phaseMillis);
+        result.put("slowestBeans", slowestBeans);
+        result.put("recordedSteps", timeline.getEvents().size());
+        this.report = result;
+
+        if (reportEnabled) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Startup report: JVM uptime ").append(result.get("jvmUptimeMillis")).append(" ms, Spring ")
+                    .append(result.get("springStartMillis")).append(" ms");
+            phaseMillis.forEach((name, millis) -> sb.append("\n  phase ").append(name).append(": ").append(millis).append(" ms"));
+            slowestBeans.forEach(bean -> sb.append("\n  bean ").append(bean.get("beanName")).append(": ")
+                    .append(bean.get("selfMillis")).append(" ms"));
+            log.info(sb.toString());
+        }
+    }
+
+    /**
+     * 마지막으로 작성된 기동 시간 리포트를 반환합니다.
+     */
+    public Map<String, Object> getReport() {
+        return report;
+    }
+}
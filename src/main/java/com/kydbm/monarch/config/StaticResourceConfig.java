@@ -0,0 +1,47 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * React 빌드 결과(정적 파일) 제공 설정.
+ * 빌드 시 함께 생성된 gzip(.gz), brotli(.br) 압축본이 있으면 브라우저의 Accept-Encoding에 맞춰 그대로 전송하고,
+ * 내용 해시가 파일명에 포함된 `/assets/**` 파일은 변경되지 않는 파일(immutable)로 오래 캐시하도록 합니다.
+ * `index.html` 등 나머지 파일은 새 배포가 바로 반영되도록 매번 변경 여부를 확인(no-cache)합니다.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** Vite 빌드 시 내용 해시가 포함된 파일명으로 생성되는 번들 파일 경로 */
+    public static final String HASHED_ASSET_PATTERN = "/assets/**";
+
+    private final String staticLocation;
+    private final Duration assetCachePeriod;
+
+    public StaticResourceConfig(@Value("${monarch.web.static-location:classpath:/static/}") String staticLocation,
+                                @Value("${monarch.web.asset-cache-period:365d}") Duration assetCachePeriod) {
+        this.staticLocation = staticLocation.endsWith("/") ? staticLocation : staticLocation + "/";
+        this.assetCachePeriod = assetCachePeriod;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(HASHED_ASSET_PATTERN)
+                .addResourceLocations(staticLocation + "assets/")
+                .setCacheControl(CacheControl.maxAge(assetCachePeriod).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations(staticLocation)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
@@ -0,0 +1,120 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * `application.properties` 파일의 'monarch.tenancy' 설정값을 바인딩합니다.
+ * 회원사(M_USITE_NO)별로 업무 데이터를 조회할 DB(shard)를 지정합니다.
+ * M_SERVICE, M_STRUCTURE, 사용자 등 메타데이터는 항상 기본 데이터소스(spring.datasource)에서 조회하며,
+ * shard가 지정되지 않은 회원사의 업무 데이터도 기본 데이터소스를 사용합니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monarch.tenancy")
+public class TenantShardProperties {
+
+    /** shard별 접속/커넥션 풀 설정. 키: shard 이름 */
+    private Map<String, ShardOptions> shards = new LinkedHashMap<>();
+
+    /** 회원사별 shard 이름. 키: M_USITE_NO */
+    private Map<Long, String> usites = new LinkedHashMap<>();
+
+    public Map<String, ShardOptions> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<String, ShardOptions> shards) {
+        this.shards = shards;
+    }
+
+    public Map<Long, String> getUsites() {
+        return usites;
+    }
+
+    public void setUsites(Map<Long, String> usites) {
+        this.usites = usites;
+    }
+
+    /** shard 하나에 대한 설정 */
+    public static class ShardOptions {
+
+        /** JDBC URL */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /** 최대 커넥션 수 */
+        private int maximumPoolSize = 10;
+
+        /** 유지할 최소 유휴 커넥션 수 */
+        private int minimumIdle = 2;
+
+        /** 커넥션을 얻기까지 기다리는 최대 시간 */
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+
+        /** 드라이버 속성 (예: oracle.jdbc.implicitStatementCacheSize) */
+        private Map<String, String> dataSourceProperties = new LinkedHashMap<>();
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public Map<String, String> getDataSourceProperties() {
+            return dataSourceProperties;
+        }
+
+        public void setDataSourceProperties(Map<String, String> dataSourceProperties) {
+            this.dataSourceProperties = dataSourceProperties;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kydbm.monarch.config;
+
+import com.kydbm.monarch.service.DynamicQueryService;
+import com.kydbm.monarch.service.WorkloadCaptureService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * `/api/data/execute` 조회 요청을 워크로드 기록(`WorkloadCaptureService`)에 전달하는 설정.
+ * GET 요청이라도 실행 타입이 조회(READ/LIST)로 확인된 서비스만 기록합니다. 저장/변경 서비스는 다시 실행하면 데이터가 바뀌고,
+ * 화면 구성(M_STRUCTURE), 서비스 관리(M_SERVICE_ADMIN) 같은 메타데이터 조회는 업무 쿼리가 아니므로 제외합니다.
+ */
+@Configuration
+public class WorkloadCaptureConfig implements WebMvcConfigurer {
+
+    private static final String START_NANOS_ATTRIBUTE = WorkloadCaptureConfig.class.getName() + ".startNanos";
+    private static final String START_MILLIS_ATTRIBUTE = WorkloadCaptureConfig.class.getName() + ".startMillis";
+
+    private final WorkloadCaptureService workloadCaptureService;
+    private final DynamicQueryService dynamicQueryService;
+
+    public WorkloadCaptureConfig(WorkloadCaptureService workloadCaptureService, DynamicQueryService dynamicQueryService) {
+        this.workloadCaptureService = workloadCaptureService;
+        this.dynamicQueryService = dynamicQueryService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+                if (workloadCaptureService.isEnabled() && "GET".equals(request.getMethod())) {
+                    request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+                    request.setAttribute(START_MILLIS_ATTRIBUTE, System.currentTimeMillis());
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                        @NonNull Object handler, Exception ex) {
+                if (!(request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos)) {
+                    return;
+                }
+                long elapsedNanos = System.nanoTime() - startNanos;
+                if (!isReadService(request)) {
+                    return;
+                }
+                Map<String, String> params = new LinkedHashMap<>();
+                request.getParameterMap().forEach((name, values) -> params.put(name, values.length > 0 ? values[0] : null));
+                workloadCaptureService.capture((Long) request.getAttribute(START_MILLIS_ATTRIBUTE), params, elapsedNanos,
+                        ex != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+            }
+        }).addPathPatterns("/api/data/execute");
+    }
+
+    /** 요청한 서비스가 실행 결과 READ/LIST 타입으로 확인되었으면 true */
+    private boolean isReadService(HttpServletRequest request) {
+        String usiteNo = request.getParameter("usiteNo");
+        try {
+            return dynamicQueryService.isReadService(request.getParameter("serviceName"), request.getParameter("methodName"),
+                    usiteNo != null ? Long.parseLong(usiteNo) : 1L);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kydbm.monarch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * `application.properties` 파일의 'monarch.lane' 설정값을 바인딩합니다.
+ * 동적 쿼리를 작업 유형(lane)별로 나누어, 유형마다 동시 실행 수와 대기열 크기를 따로 제한합니다.
+ * 각 lane의 max-concurrent 합계를 커넥션 풀 크기보다 작게 잡으면 lane마다 커넥션이 예약되는 효과가 있습니다.
+ * 합계가 풀 크기보다 작아야 lane을 거치지 않는 로그인, 메타데이터 조회가 사용할 커넥션이 남습니다.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "monarch.lane")
+public class WorkloadLaneProperties {
+
+    /** lane 구분 사용 여부 */
+    private boolean enabled = true;
+
+    /** lane별 설정. 키: lane 이름 */
+    private Map<String, LaneOptions> lanes = new LinkedHashMap<>();
+
+    /** 실행 타입(EXEC_TYPE)별 lane 이름. 서비스별 lane(monarch.services[n].lane)이 지정되면 그쪽이 우선합니다. */
+    private Map<String, String> execTypes = new LinkedHashMap<>(Map.of(
+            "READ", "interactive",
+            "LIST", "list",
+            "INSERT", "write",
+            "UPDATE", "write",
+            "DELETE", "write",
+            "COMPOSITE", "write"));
+
+    /** 실행 타입을 아직 알 수 없는 서비스(첫 실행)나 매핑되지 않은 실행 타입에 사용할 lane */
+    private String defaultLane = "interactive";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, LaneOptions> getLanes() {
+        return lanes;
+    }
+
+    public void setLanes(Map<String, LaneOptions> lanes) {
+        this.lanes = lanes;
+    }
+
+    public Map<String, String> getExecTypes() {
+        return execTypes;
+    }
+
+    public void setExecTypes(Map<String, String> execTypes) {
+        this.execTypes = execTypes;
+    }
+
+    public String getDefaultLane() {
+        return defaultLane;
+    }
+
+    public void setDefaultLane(String defaultLane) {
+        this.defaultLane = defaultLane;
+    }
+
+    /** lane 하나에 대한 설정 */
+    public static class LaneOptions {
+
+        /** 동시에 실행할 수 있는 최대 요청 수 (= 이 lane이 사용하는 최대 커넥션 수) */
+        private int maxConcurrent = 2;
+
+        /** 실행을 기다릴 수 있는 최대 요청 수. 이를 넘으면 즉시 거절(503)합니다. */
+        private int queueSize = 20;
+
+        /** 대기열에서 기다리는 최대 시간. 이를 넘으면 거절(503)합니다. */
+        private Duration queueTimeout = Duration.ofSeconds(5);
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+}
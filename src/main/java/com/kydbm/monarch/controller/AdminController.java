@@ -0,0 +1,192 @@
+package com.kydbm.monarch.controller;
+
+import com.kydbm.monarch.config.StartupReportListener;
+import com.kydbm.monarch.service.AggregateSnapshotService;
+import com.kydbm.monarch.service.AuditLogService;
+import com.kydbm.monarch.service.BulkImportService;
+import com.kydbm.monarch.service.LiveQueryService;
+import com.kydbm.monarch.service.LookupCacheService;
+import com.kydbm.monarch.service.QueryGuardService;
+import com.kydbm.monarch.service.RequestCoalescer;
+import com.kydbm.monarch.service.ResultBudget;
+import com.kydbm.monarch.service.ResultSnapshotStore;
+import com.kydbm.monarch.service.TenantDataSourceRouter;
+import com.kydbm.monarch.service.WorkloadCaptureService;
+import com.kydbm.monarch.service.WorkloadLaneService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영 상태 확인용 관리자 API를 제공하는 컨트롤러.
+ * ROLE_ADMIN 권한(`monarch.security.admin-users` 에 지정된 사용자)이 있는 사용자만 접근할 수 있습니다. (SecurityConfig 참고)
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final QueryGuardService queryGuardService;
+    private final LookupCacheService lookupCacheService;
+    private final StartupReportListener startupReportListener;
+    private final AuditLogService auditLogService;
+    private final AggregateSnapshotService aggregateSnapshotService;
+    private final LiveQueryService liveQueryService;
+    private final RequestCoalescer requestCoalescer;
+    private final WorkloadLaneService workloadLaneService;
+    private final ResultSnapshotStore resultSnapshotStore;
+    private final TenantDataSourceRouter tenantDataSourceRouter;
+    private final WorkloadCaptureService workloadCaptureService;
+    private final ResultBudget resultBudget;
+    private final BulkImportService bulkImportService;
+
+    public AdminController(QueryGuardService queryGuardService, LookupCacheService lookupCacheService,
+                           StartupReportListener startupReportListener, AuditLogService auditLogService,
+                           AggregateSnapshotService aggregateSnapshotService, LiveQueryService liveQueryService,
+                           RequestCoalescer requestCoalescer, WorkloadLaneService workloadLaneService,
+                           ResultSnapshotStore resultSnapshotStore, TenantDataSourceRouter tenantDataSourceRouter,
+                           WorkloadCaptureService workloadCaptureService, ResultBudget resultBudget,
+                           BulkImportService bulkImportService) {
+        this.queryGuardService = queryGuardService;
+        this.lookupCacheService = lookupCacheService;
+        this.startupReportListener = startupReportListener;
+        this.auditLogService = auditLogService;
+        this.aggregateSnapshotService = aggregateSnapshotService;
+        this.liveQueryService = liveQueryService;
+        this.requestCoalescer = requestCoalescer;
+        this.workloadLaneService = workloadLaneService;
+        this.resultSnapshotStore = resultSnapshotStore;
+        this.tenantDataSourceRouter = tenantDataSourceRouter;
+        this.workloadCaptureService = workloadCaptureService;
+        this.resultBudget = resultBudget;
+        this.bulkImportService = bulkImportService;
+    }
+
+    /**
+     * 서비스 메소드별 동시 실행 제한값과 서킷 브레이커 상태를 조회합니다.
+     */
+    @GetMapping("/guards")
+    public List<Map<String, Object>> getGuards() {
+        return queryGuardService.getGuardStatus();
+    }
+
+    /**
+     * 특정 서비스 메소드의 동시 실행 제한과 서킷 상태를 초기화합니다.
+     */
+    @PostMapping("/guards/reset")
+    public ResponseEntity<Map<String, Object>> resetGuard(@RequestParam("serviceName") String serviceName,
+                                                          @RequestParam("methodName") String methodName) {
+        boolean reset = queryGuardService.reset(serviceName, methodName);
+        return ResponseEntity.ok(Map.of("reset", reset));
+    }
+
+    /**
+     * 코드/참조 테이블 캐시의 적재 현황(행 수, 적재 시각, 적재 소요 시간)을 조회합니다.
+     */
+    @GetMapping("/lookups")
+    public List<Map<String, Object>> getLookups() {
+        return lookupCacheService.getCacheStatus();
+    }
+
+    /**
+     * 마지막 기동 시의 단계별 소요 시간과 가장 오래 걸린 빈 목록을 조회합니다.
+     */
+    @GetMapping("/startup")
+    public Map<String, Object> getStartupReport() {
+        return startupReportListener.getReport();
+    }
+
+    /**
+     * 감사 로그 대기열 크기와 누적 저장/유실/실패 건수를 조회합니다.
+     */
+    @GetMapping("/audit")
+    public Map<String, Object> getAuditStatus() {
+        return auditLogService.getStatus();
+    }
+
+    /**
+     * 집계 스냅샷의 계산 시각과 계산 소요 시간을 조회합니다.
+     */
+    @GetMapping("/snapshots")
+    public List<Map<String, Object>> getSnapshots() {
+        return aggregateSnapshotService.getSnapshotStatus();
+    }
+
+    /**
+     * 실시간 구독(SSE) 채널별 구독자 수와 마지막 조회 시각을 조회합니다.
+     */
+    @GetMapping("/live")
+    public List<Map<String, Object>> getLiveChannels() {
+        return liveQueryService.getChannelStatus();
+    }
+
+    /**
+     * 동일 조회 요청 병합(single-flight)의 실행 횟수와 결과 공유 횟수를 조회합니다.
+     */
+    @GetMapping("/coalescing")
+    public Map<String, Object> getCoalescingStats() {
+        return requestCoalescer.getStats();
+    }
+
+    /**
+     * 작업 유형(lane)별 실행 중/대기 중 요청 수와 거절 횟수를 조회합니다.
+     */
+    @GetMapping("/lanes")
+    public List<Map<String, Object>> getLanes() {
+        return workloadLaneService.getLaneStatus();
+    }
+
+    /**
+     * LIST 결과 스냅샷 파일의 개수와 전체 크기를 조회합니다.
+     */
+    @GetMapping("/result-snapshots")
+    public Map<String, Object> getResultSnapshots() {
+        return resultSnapshotStore.getStatus();
+    }
+
+    /**
+     * 회원사별 DB(shard)의 연결 상태와 커넥션 풀 사용 현황을 조회합니다.
+     */
+    @GetMapping("/shards")
+    public List<Map<String, Object>> getShards() {
+        return tenantDataSourceRouter.getShardStatus();
+    }
+
+    /**
+     * 워크로드 기록(capture) 여부와 파일 경로, 누적 기록/유실 건수를 조회합니다.
+     */
+    @GetMapping("/capture")
+    public Map<String, Object> getCaptureStatus() {
+        return workloadCaptureService.getStatus();
+    }
+
+    /**
+     * 워크로드 기록을 시작하거나 중지합니다.
+     */
+    @PostMapping("/capture")
+    public Map<String, Object> setCapture(@RequestParam("enabled") boolean enabled) {
+        workloadCaptureService.setEnabled(enabled);
+        return workloadCaptureService.getStatus();
+    }
+
+    /**
+     * 조회 결과 메모리 한도와 현재 사용량, 누적 중단/거절 건수를 조회합니다.
+     */
+    @GetMapping("/result-budget")
+    public Map<String, Object> getResultBudget() {
+        return resultBudget.getStatus();
+    }
+
+    /**
+     * CSV 대량 적재 작업별 진행 상황(읽은 행, 적재/reject 행 수, 처리 속도)을 조회합니다.
+     */
+    @GetMapping("/imports")
+    public List<Map<String, Object>> getImports() {
+        return bulkImportService.getJobs();
+    }
+}
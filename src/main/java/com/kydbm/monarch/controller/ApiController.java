@@ -2,17 +2,36 @@ package com.kydbm.monarch.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kydbm.monarch.config.ServerTimingFilter;
 import com.kydbm.monarch.domain.AuthUser;
 import com.kydbm.monarch.mapper.MServiceMapper;
+import com.kydbm.monarch.service.AggregateSnapshotService;
 import com.kydbm.monarch.service.DynamicGridStructure;
+import com.kydbm.monarch.service.DynamicGridStructure.StructureBundle;
 import com.kydbm.monarch.service.DynamicQueryService;
+import com.kydbm.monarch.service.LiveQueryService;
+import com.kydbm.monarch.service.LobStore;
+import com.kydbm.monarch.service.LookupCacheService;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import com.kydbm.monarch.mapper.UserMapper;
 import java.util.HashMap;
@@ -37,6 +56,10 @@ public class ApiController {
     private final DynamicGridStructure dynamicGridStructure;
     private final UserMapper userMapper;
     private final MServiceMapper mServiceMapper;
+    private final LookupCacheService lookupCacheService;
+    private final AggregateSnapshotService aggregateSnapshotService;
+    private final LiveQueryService liveQueryService;
+    private final LobStore lobStore;
 
     /**
      * 생성자 주입 방식. Spring이 필요한 서비스와 매퍼의 구현체를 자동으로 주입합니다. 
@@ -44,13 +67,23 @@ public class ApiController {
      * @param dynamicGridStructure 그리드 구조 정보 조회 서비스 
      * @param userMapper 사용자 정보 관련 매퍼 
      * @param mServiceMapper 서비스(쿼리) 정보 관련 매퍼 
+     * @param lookupCacheService 코드/참조 테이블 캐시 서비스
+     * @param aggregateSnapshotService 집계 스냅샷 서비스
+     * @param liveQueryService 실시간 구독(SSE) 서비스
+     * @param lobStore 큰 CLOB/BLOB 컬럼 임시 저장소
      */
     public ApiController(DynamicQueryService dynamicQueryService, DynamicGridStructure dynamicGridStructure,
-                         UserMapper userMapper, MServiceMapper mServiceMapper) {
+                         UserMapper userMapper, MServiceMapper mServiceMapper, LookupCacheService lookupCacheService,
+                         AggregateSnapshotService aggregateSnapshotService, LiveQueryService liveQueryService,
+                         LobStore lobStore) {
         this.dynamicQueryService = dynamicQueryService;
         this.userMapper = userMapper;
         this.dynamicGridStructure = dynamicGridStructure;
         this.mServiceMapper = mServiceMapper;
+        this.lookupCacheService = lookupCacheService;
+        this.aggregateSnapshotService = aggregateSnapshotService;
+        this.liveQueryService = liveQueryService;
+        this.lobStore = lobStore;
     }
 
     /** 
@@ -100,19 +133,8 @@ public class ApiController {
             // --- 1. 그리드 구성 정보 조회 요청 처리 ---
             String structureName = allRequestParams.get("structureName");
 
-            String structureContString = dynamicGridStructure.getStructureByName(structureName, mUsiteNo);
-
-            if (structureContString != null && !structureContString.trim().isEmpty()) {
-                // 1. JavaScript/JSON 주석 제거: // 형식의 주석을 제거합니다.
-                structureContString = structureContString.replaceAll("//.*?(?=,|\\}|\\])", "");
-                // 2. 중복 쉼표 제거: 연속된 쉼표를 하나로 통합합니다.
-                structureContString = structureContString.replaceAll(",\\s*,+", ",");
-                // 3. 배열 또는 객체의 마지막에 있는 불필요한 쉼표(trailing comma)를 제거합니다.
-                structureContString = structureContString.replaceAll(",(\\s*})", "$1");
-                structureContString = structureContString.replaceAll(",(\\s*])", "$1");
-                // 4. 줄바꿈, 탭 등 불필요한 공백을 제거하여 파싱 오류 가능성을 줄입니다.
-                structureContString = structureContString.replaceAll("\\s+", " ").trim();
-            }
+            // 주석, 불필요한 쉼표와 공백을 정리하여 프론트엔드에서 바로 파싱할 수 있는 형태로 반환합니다.
+            String structureContString = dynamicGridStructure.getCleanStructureByName(structureName, mUsiteNo);
             return ResponseEntity.ok(Map.of("structureCont", structureContString));
 
         } else if ("M_SERVICE_ADMIN".equals(serviceName)) {
@@ -129,13 +151,175 @@ public class ApiController {
             Map<String, Object> queryParams = new HashMap<>(allRequestParams);
             queryParams.remove("serviceName");
             queryParams.remove("methodName");
+            queryParams.remove(ServerTimingFilter.TIMING_PARAM);
             queryParams.put("USITE", mUsiteNo);
 
+            // 집계 스냅샷 대상 서비스는 미리 계산된 결과로 응답합니다. (스냅샷 고정 파라미터 외의 파라미터가 있으면 직접 조회)
+            // 계산 시각과 경과 시간은 결과 유형과 관계없이 응답 헤더로도 전달합니다.
+            if (aggregateSnapshotService.isSnapshotRequest(serviceName, methodName, queryParams)) {
+                AggregateSnapshotService.SnapshotResponse snapshot = aggregateSnapshotService.getSnapshot(serviceName, methodName, mUsiteNo);
+                return ResponseEntity.ok()
+                        .header("X-Snapshot-At", String.valueOf(snapshot.snapshotAt()))
+                        .header("X-Snapshot-Stale-Seconds", String.valueOf(snapshot.staleSeconds()))
+                        .body(snapshot.body());
+            }
+
             List<Map<String, Object>> result = dynamicQueryService.executeDynamicQuery(serviceName, methodName, mUsiteNo, queryParams);
             return ResponseEntity.ok(result);
         }
     }
 
+    /**
+     * JSON 본문으로 동적 쿼리를 실행합니다. 마스터/디테일 저장처럼 행 목록을 함께 전달해야 하는 COMPOSITE 서비스에 사용합니다.
+     * 요청 본문: `{"serviceName": "...", "methodName": "...", "usiteNo": 1, "params": {"CUST_CODE": "C01", "DETAILS": [{...}, {...}]}}`
+     * 모든 단계는 하나의 트랜잭션으로 실행되며, 한 단계라도 실패하면 전체가 롤백됩니다.
+     */
+    @PostMapping("/data/execute")
+    public ResponseEntity<?> executeServiceCommand(@RequestBody Map<String, Object> body) {
+        Object serviceName = body.get("serviceName");
+        Object methodName = body.get("methodName");
+        if (serviceName == null || methodName == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "serviceName and methodName are required"));
+        }
+        Long mUsiteNo = Long.parseLong(String.valueOf(body.getOrDefault("usiteNo", "1")));
+
+        Map<String, Object> queryParams = new HashMap<>();
+        if (body.get("params") instanceof Map<?, ?> params) {
+            params.forEach((key, value) -> queryParams.put(String.valueOf(key), value));
+        }
+        queryParams.put("USITE", mUsiteNo);
+
+        List<Map<String, Object>> result = dynamicQueryService.executeDynamicQuery(serviceName.toString(), methodName.toString(), mUsiteNo, queryParams);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 서비스 결과를 Server-Sent Events로 구독합니다. 위젯이 주기적으로 다시 조회하는 대신 사용합니다.
+     * 같은 조건의 구독자는 서버에서 하나의 쿼리 결과를 공유하며, 결과가 바뀔 때마다 `data` 이벤트로 전송됩니다.
+     * 요청 파라미터는 `/api/data/execute`와 같습니다.
+     */
+    @GetMapping(value = "/data/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam Map<String, String> allRequestParams) {
+        String serviceName = allRequestParams.get("serviceName");
+        String methodName = allRequestParams.get("methodName");
+        Long mUsiteNo = Long.parseLong(allRequestParams.getOrDefault("usiteNo", "1"));
+
+        Map<String, Object> queryParams = new HashMap<>(allRequestParams);
+        queryParams.remove("serviceName");
+        queryParams.remove("methodName");
+        queryParams.remove(ServerTimingFilter.TIMING_PARAM);
+        queryParams.put("USITE", mUsiteNo);
+        return liveQueryService.subscribe(serviceName, methodName, mUsiteNo, queryParams);
+    }
+
+    /**
+     * 조회 결과에 핸들(`lobId`)로 반환된 큰 CLOB/BLOB 컬럼의 내용을 내려받습니다.
+     * 파일에서 바로 전송하며, `Range` 헤더로 나누어 받을 수 있습니다.
+     * @param lobId 조회 결과의 lobId 값
+     * @param mUsiteNo 조회한 회원사 번호 (핸들의 usiteNo 값)
+     */
+    @GetMapping("/lob/{lobId}")
+    public ResponseEntity<Resource> downloadLob(@PathVariable("lobId") String lobId,
+                                                @RequestParam(value = "usiteNo", defaultValue = "1") Long mUsiteNo) {
+        return lobStore.find(lobId, mUsiteNo)
+                .map(lob -> ResponseEntity.ok()
+                        .contentType("CLOB".equals(lob.type())
+                                ? new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8)
+                                : MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .body((Resource) new FileSystemResource(lob.path())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * 그리드 화면을 여는 데 필요한 화면 구성 정보와 첫 페이지 데이터를 한 번의 요청으로 반환합니다.
+     * 서버에서 화면 구성 정보를 해석하여, 정의된 서비스(service/method)를 기본 정렬(order)과 페이지 크기로 조회합니다.
+     * 요청 파라미터 중 `structureName`, `usiteNo`를 제외한 나머지는 조회 조건으로 그대로 전달됩니다.
+     * @return `structureCont`(정리된 화면 구성 JSON 문자열), `data`, `totalCount`
+     */
+    @GetMapping("/data/grid")
+    public ResponseEntity<?> openGrid(@RequestParam Map<String, String> allRequestParams) {
+        String structureName = allRequestParams.get("structureName");
+        if (structureName == null || structureName.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "structureName is required"));
+        }
+        Long mUsiteNo = Long.parseLong(allRequestParams.getOrDefault("usiteNo", "1"));
+
+        String structureCont = dynamicGridStructure.getCleanStructureByName(structureName, mUsiteNo);
+        if (structureCont == null || structureCont.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Structure not found: " + structureName));
+        }
+        JsonNode structure = dynamicGridStructure.parseStructure(structureCont);
+
+        Map<String, Object> queryParams = new HashMap<>(allRequestParams);
+        queryParams.remove("structureName");
+        queryParams.remove(ServerTimingFilter.TIMING_PARAM);
+        queryParams.put("USITE", mUsiteNo);
+        queryParams.put("_page", "1");
+        queryParams.putIfAbsent("_size", structure.path("pageSize").asText("10"));
+        queryParams.putIfAbsent("_sort", structure.path("order").asText(""));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("structureCont", structureCont);
+        response.put("data", List.of());
+        response.put("totalCount", 0);
+
+        List<Map<String, Object>> result = dynamicQueryService.executeDynamicQuery(
+                structure.path("service").asText(), structure.path("method").asText(), mUsiteNo, queryParams);
+        if (!result.isEmpty() && result.get(0).containsKey("data")) {
+            response.putAll(result.get(0));
+        } else {
+            // LIST가 아닌 서비스(READ 등)는 결과 행 목록을 그대로 첫 페이지로 사용합니다.
+            response.put("data", result);
+            response.put("totalCount", result.size());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 한 페이지에 배치된 여러 그리드의 화면 구성 정보를 한 번의 요청으로 반환합니다.
+     * 캐시에 없는 화면만 한 번의 쿼리로 조회하며, 요청한 화면들의 내용으로 만든 ETag를 함께 반환합니다.
+     * `If-None-Match`가 ETag와 같으면 본문 없이 304로 응답합니다.
+     * @param names 화면 이름 목록 (쉼표 구분, 최대 100개)
+     * @return `structures`(화면 이름 → 정리된 화면 구성 JSON 문자열), `missing`(존재하지 않는 화면 이름 목록)
+     */
+    @GetMapping("/structures")
+    public ResponseEntity<?> getStructures(@RequestParam("names") List<String> names,
+                                           @RequestParam(value = "usiteNo", defaultValue = "1") Long mUsiteNo,
+                                           WebRequest webRequest) {
+        List<String> structureNames = names.stream().map(String::trim).filter(name -> !name.isEmpty()).toList();
+        if (structureNames.isEmpty() || structureNames.size() > DynamicGridStructure.MAX_BUNDLE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "names must contain 1 to " + DynamicGridStructure.MAX_BUNDLE_SIZE + " structure names"));
+        }
+        StructureBundle bundle = dynamicGridStructure.getStructureBundle(structureNames, mUsiteNo);
+        // 캐시는 하되 매번 ETag로 변경 여부를 확인하도록 합니다. (구성 정보가 바뀌면 바로 반영)
+        if (webRequest.checkNotModified(bundle.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(bundle.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(Map.of("structures", bundle.structures(), "missing", bundle.missing()));
+    }
+
+    /**
+     * 팝업 검색(typeahead) 요청을 처리합니다. DB를 조회하지 않고 메모리에 캐시된 코드 테이블에서 검색합니다.
+     * 캐시 대상 서비스는 `monarch.services[n].lookup` 설정으로 지정하며, 대상이 아니면 404로 응답합니다.
+     * (팝업 화면은 404를 받으면 그리드 조회로 검색합니다)
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<List<Map<String, Object>>> lookup(@RequestParam("serviceName") String serviceName,
+                                                            @RequestParam("methodName") String methodName,
+                                                            @RequestParam(value = "q", required = false) String query,
+                                                            @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                            @RequestParam(value = "usiteNo", defaultValue = "1") Long mUsiteNo) {
+        if (!lookupCacheService.isLookupService(serviceName, methodName)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(lookupCacheService.search(serviceName, methodName, mUsiteNo, query, Math.min(Math.max(limit, 1), 200)));
+    }
+
     /** 
      * 사용자 코드(ID)로 상세 정보를 조회합니다. (MyBatis 직접 호출 테스트용) 
      */
@@ -0,0 +1,56 @@
+package com.kydbm.monarch.controller;
+
+import com.kydbm.monarch.service.InvalidParameterException;
+import com.kydbm.monarch.service.ResultTooLargeException;
+import com.kydbm.monarch.service.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * 컨트롤러에서 발생한 예외를 프론트엔드가 이해할 수 있는 JSON 오류 응답으로 변환합니다.
+ * 응답 형식은 `{"error": "..."}`로, 기존 API의 오류 응답과 동일합니다.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    /**
+     * 서킷이 열려 있거나 동시 실행 허용 수를 초과한 요청에 대해 503(Service Unavailable)을 응답합니다.
+     * `Retry-After` 헤더로 재시도 가능 시점을 알려줍니다.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException e) {
+        log.warn("Request rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage(), "retryAfter", e.getRetryAfterSeconds()));
+    }
+
+    /**
+     * 파라미터 스키마에 맞지 않는 요청에 대해 쿼리를 실행하지 않고 400(Bad Request)을 응답합니다.
+     */
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidParameter(InvalidParameterException e) {
+        log.warn("Invalid parameter: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage(), "parameter", e.getParameterName()));
+    }
+
+    /**
+     * 조회 결과가 메모리 한도를 넘어 읽기를 중단한 요청에 대해 422(Unprocessable Entity)를 응답합니다.
+     * 같은 요청을 재시도해도 성공하지 않으므로 503과 구분합니다.
+     */
+    @ExceptionHandler(ResultTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleResultTooLarge(ResultTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", e.getMessage(), "rowsRead", e.getRowsRead()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.kydbm.monarch.controller;
+
+import com.kydbm.monarch.service.BulkImportService;
+import com.kydbm.monarch.service.BulkImportService.ImportRequest;
+import com.kydbm.monarch.service.InvalidParameterException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CSV 파일을 INSERT 서비스로 대량 적재하는 API를 제공하는 컨트롤러.
+ * 업로드 요청은 작업을 등록하고 바로 202로 응답하며, 진행 상황은 `/api/import/{jobId}`로 확인합니다.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    /** 적재 옵션으로 사용되어 고정 파라미터에서 제외되는 요청 파라미터 */
+    private static final Set<String> OPTION_PARAMS = Set.of("serviceName", "methodName", "usiteNo", "mapping",
+            "charset", "delimiter", "batchSize", "maxRejects");
+
+    private final BulkImportService bulkImportService;
+
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    /**
+     * CSV 파일 적재를 시작합니다. (multipart/form-data)
+     * - `file`: CSV 파일. 첫 줄은 헤더이며, 헤더명이 서비스 파라미터명이 됩니다.
+     * - `serviceName`, `methodName`, `usiteNo`: 적재할 INSERT 서비스
+     * - `mapping`: 헤더명과 파라미터명이 다를 때 `고객명=CUST_NAME,연락처=TEL_NO` 형식으로 지정
+     * - `charset`(기본 UTF-8), `delimiter`(기본 쉼표, `tab` 가능), `batchSize`, `maxRejects`
+     * - 그 외 파라미터는 모든 행에 같은 값으로 전달됩니다. (예: `REG_USER=admin`)
+     * @return 작업 상태 (`jobId`)
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> startImport(@RequestParam("file") MultipartFile file,
+                                                           @RequestParam Map<String, String> allRequestParams) throws IOException {
+        String serviceName = allRequestParams.get("serviceName");
+        String methodName = allRequestParams.get("methodName");
+        if (serviceName == null || methodName == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "serviceName and methodName are required"));
+        }
+        Map<String, Object> fixedParams = new HashMap<>();
+        allRequestParams.forEach((name, value) -> {
+            if (!OPTION_PARAMS.contains(name) && !"file".equals(name)) {
+                fixedParams.put(name, value);
+            }
+        });
+
+        Long batchSize = parseOptionalNumber("batchSize", allRequestParams.get("batchSize"));
+        ImportRequest request = new ImportRequest(serviceName, methodName,
+                Long.parseLong(allRequestParams.getOrDefault("usiteNo", "1")),
+                parseMapping(allRequestParams.get("mapping")),
+                fixedParams,
+                parseCharset(allRequestParams.getOrDefault("charset", "UTF-8")),
+                parseDelimiter(allRequestParams.getOrDefault("delimiter", ",")),
+                batchSize != null ? (int) Math.max(0, Math.min(batchSize, Integer.MAX_VALUE)) : null,
+                parseOptionalNumber("maxRejects", allRequestParams.get("maxRejects")));
+        Map<String, Object> status = bulkImportService.start(request, file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/import/" + status.get("jobId")))
+                .body(status);
+    }
+
+    /**
+     * 적재 작업의 진행 상황(읽은 바이트/행 수, 적재/reject 행 수, 마지막으로 커밋된 줄 번호)을 조회합니다.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImport(@PathVariable("jobId") String jobId) {
+        return bulkImportService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * reject된 행을 원본 값, 줄 번호(`_LINE`), 오류 메시지(`_ERROR`)와 함께 CSV로 내려받습니다.
+     * 수정한 파일을 그대로 다시 업로드할 수 있습니다. (`_LINE`, `_ERROR` 컬럼은 쿼리에서 사용하지 않으므로 무시됩니다)
+     */
+    @GetMapping("/{jobId}/rejects")
+    public ResponseEntity<Resource> downloadRejects(@PathVariable("jobId") String jobId) {
+        return bulkImportService.getRejectFile(jobId)
+                .map(path -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("text/csv"))
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename(jobId + "-rejects.csv").build().toString())
+                        .body((Resource) new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * 적재 작업을 취소합니다. 이미 커밋된 행은 남습니다.
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelImport(@PathVariable("jobId") String jobId) {
+        return bulkImportService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private static Map<String, String> parseMapping(String mapping) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (mapping == null || mapping.isBlank()) {
+            return result;
+        }
+        for (String entry : mapping.split(",")) {
+            String[] pair = entry.split("=", 2);
+            if (pair.length != 2 || pair[0].isBlank() || pair[1].isBlank()) {
+                throw new InvalidParameterException("mapping", "Invalid mapping entry (expected header=PARAM): " + entry);
+            }
+            result.put(pair[0].trim(), pair[1].trim());
+        }
+        return result;
+    }
+
+    private static Charset parseCharset(String charset) {
+        try {
+            return Charset.forName(charset.trim());
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new InvalidParameterException("charset", "Unsupported charset: " + charset);
+        }
+    }
+
+    private static char parseDelimiter(String delimiter) {
+        if ("tab".equalsIgnoreCase(delimiter) || "\t".equals(delimiter)) {
+            return '\t';
+        }
+        if (delimiter.length() != 1 || delimiter.charAt(0) == '"') {
+            throw new InvalidParameterException("delimiter", "Delimiter must be a single character: " + delimiter);
+        }
+        return delimiter.charAt(0);
+    }
+
+    private static Long parseOptionalNumber(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterException(name, "Invalid number for " + name + ": " + value);
+        }
+    }
+}
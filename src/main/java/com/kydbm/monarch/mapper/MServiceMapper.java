@@ -3,6 +3,10 @@ package com.kydbm.monarch.mapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.type.ClobTypeHandler;
+import org.apache.ibatis.type.JdbcType;
 
 import java.util.Map;
 
@@ -20,13 +24,18 @@ public interface MServiceMapper {
      * @param methodName 조회할 메소드 이름
      * @return 조회된 서비스 정보를 담은 Map 객체 (쿼리문, 실행 타입 등 포함)
      */
+    // QUERY_STMT(CLOB)는 TO_CHAR 변환 시 4000자에서 잘리므로, CLOB 그대로 조회하여 스트림으로 읽어 문자열로 변환합니다.
     @Select("""
             SELECT M_SERVICE_NO, QUERY_NAME, SERVICE_NAME, METHOD_NAME, EXEC_TYPE,
-                   TO_CHAR(QUERY_STMT) AS QUERY_STMT, QUERY_DESC, TABLE_NAME, DS_NAME,
+                   QUERY_STMT, QUERY_DESC, TABLE_NAME, DS_NAME,
                    USE_FLAG, M_USITE_NO, REG_DATE, UPD_DATE, REG_USER, UPD_USER
             FROM M_SERVICE
             WHERE SERVICE_NAME = #{serviceName} AND METHOD_NAME = #{methodName} AND M_USITE_NO = #{usiteNo}
             """)
+    @Results(id = "serviceQuery", value = {
+            @Result(column = "QUERY_STMT", property = "QUERY_STMT", javaType = String.class,
+                    jdbcType = JdbcType.CLOB, typeHandler = ClobTypeHandler.class)
+    })
     Map<String, Object> findServiceQuery(
             @Param("usiteNo") Long usiteNo,
             @Param("serviceName") String serviceName,
@@ -2,7 +2,15 @@ package com.kydbm.monarch.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.type.ClobTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 화면 구성(Structure) 정보에 접근하기 위한 MyBatis 매퍼 인터페이스.
@@ -17,8 +25,10 @@ public interface MStructureMapper {
      * @param usiteNo 회원사 번호
      * @return 조회된 화면 구성 정보 (JSON 형식의 문자열)
      */
+    // STRUCTURE_CONT(CLOB)는 TO_CHAR 변환 시 4000자에서 잘리므로 CLOB 그대로 조회합니다.
+    // (String 반환 타입과 CLOB 컬럼에는 MyBatis의 ClobTypeHandler가 적용되어 스트림으로 읽습니다.)
     @Select("""
-            SELECT TO_CHAR(STRUCTURE_CONT)
+            SELECT STRUCTURE_CONT
             FROM M_STRUCTURE
             WHERE STRUCTURE_NAME = #{structureName} AND M_USITE_NO = #{usiteNo}
             """)
@@ -26,4 +36,29 @@ public interface MStructureMapper {
             @Param("structureName") String structureName, 
             @Param("usiteNo") Long usiteNo
     );
+
+    /**
+     * 여러 화면의 구성 내용을 한 번의 쿼리로 조회합니다. (한 페이지에 여러 그리드가 있을 때 사용)
+     * @param structureNames 조회할 화면 이름 목록 (Oracle IN 목록 제한 1000개 이하)
+     * @param usiteNo 회원사 번호
+     * @return 화면별 `STRUCTURE_NAME`, `STRUCTURE_CONT`를 담은 Map 목록 (존재하는 화면만 포함)
+     */
+    @Select("""
+            <script>
+            SELECT STRUCTURE_NAME, STRUCTURE_CONT
+            FROM M_STRUCTURE
+            WHERE M_USITE_NO = #{usiteNo}
+              AND STRUCTURE_NAME IN
+              <foreach collection="structureNames" item="structureName" open="(" separator="," close=")">#{structureName}</foreach>
+            </script>
+            """)
+    @Results(id = "structureBundle", value = {
+            @Result(column = "STRUCTURE_NAME", property = "STRUCTURE_NAME"),
+            @Result(column = "STRUCTURE_CONT", property = "STRUCTURE_CONT", javaType = String.class,
+                    jdbcType = JdbcType.CLOB, typeHandler = ClobTypeHandler.class)
+    })
+    List<Map<String, Object>> findByNames(
+            @Param("structureNames") Collection<String> structureNames,
+            @Param("usiteNo") Long usiteNo
+    );
 }
@@ -0,0 +1,257 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.ServiceOptions;
+import com.kydbm.monarch.config.ServiceOptionsProperties.SnapshotOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대시보드 위젯의 집계 쿼리처럼 무거운 서비스를 회원사별로 백그라운드에서 미리 실행해 두고,
+ * 요청에는 마지막으로 계산된 결과(스냅샷)로 응답하는 서비스.
+ * 대상 서비스는 `monarch.services[n].snapshot` 설정으로 지정하며,
+ * 응답에는 계산 시각(`snapshotAt`)과 경과 시간(`staleSeconds`)이 포함됩니다.
+ * 미리 계산하도록 지정되지 않은 회원사의 스냅샷은 일정 기간 조회가 없으면 갱신을 멈추고 제거됩니다.
+ */
+@Service
+public class AggregateSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregateSnapshotService.class);
+
+    private final DynamicQueryService dynamicQueryService;
+    private final ServiceOptionsProperties serviceOptionsProperties;
+    /** 조회가 없는 스냅샷을 제거하기까지의 갱신 주기 수 */
+    private final int idleIntervals;
+
+    /** 계산된 스냅샷. 키: "회원사번호:서비스명.메소드명" */
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /** 스냅샷별 마지막 조회 시각 (epoch ms). 키는 snapshots 와 같습니다. */
+    private final Map<String, Long> lastReadAt = new ConcurrentHashMap<>();
+    /** 첫 요청에서 진행 중인 계산. 같은 스냅샷을 동시에 요청해도 한 번만 계산합니다. */
+    private final Map<String, CompletableFuture<Snapshot>> computing = new ConcurrentHashMap<>();
+
+    public AggregateSnapshotService(DynamicQueryService dynamicQueryService, ServiceOptionsProperties serviceOptionsProperties,
+                                    @Value("${monarch.snapshot.idle-intervals:3}") int idleIntervals) {
+        this.dynamicQueryService = dynamicQueryService;
+        this.serviceOptionsProperties = serviceOptionsProperties;
+        this.idleIntervals = Math.max(1, idleIntervals);
+    }
+
+    /**
+     * 요청을 스냅샷으로 응답할 수 있는지 확인합니다.
+     * 스냅샷은 회원사별로 하나이며 `snapshot.params` 로만 계산되므로, 그 외의 파라미터(예: 사용자 번호, 페이지)가 있거나
+     * 값이 다른 요청은 스냅샷을 사용하지 않고 직접 조회해야 합니다. (사용자별 조건이 회원사 전체 집계로 바뀌지 않도록)
+     * @param params 요청 파라미터 (USITE 는 스냅샷 키에 포함되므로 비교하지 않습니다)
+     */
+    public boolean isSnapshotRequest(String serviceName, String methodName, Map<String, ?> params) {
+        SnapshotOptions options = findSnapshotOptions(serviceName, methodName);
+        if (options == null) {
+            return false;
+        }
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            if ("USITE".equals(param.getKey())) {
+                continue;
+            }
+            String fixed = options.getParams().get(param.getKey());
+            if (fixed == null || param.getValue() == null || !fixed.equals(param.getValue().toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 스냅샷 결과를 반환합니다. 아직 계산된 적이 없으면 이 요청에서 계산합니다.
+     * LIST 결과에는 `snapshotAt`(계산 시각, epoch ms)과 `staleSeconds`(계산 후 경과 초)가 추가되며,
+     * 그 외 결과는 반환값의 snapshotAt/staleSeconds 로 확인합니다. (응답 헤더 등에 사용)
+     * @param serviceName 서비스명
+     * @param methodName 메소드명
+     * @param usiteNo 회원사 번호
+     * @return 스냅샷 결과 (body 는 executeDynamicQuery 결과와 같은 형식)
+     * @throws IllegalArgumentException 스냅샷 대상으로 설정되지 않은 서비스일 때
+     */
+    public SnapshotResponse getSnapshot(String serviceName, String methodName, Long usiteNo) {
+        SnapshotOptions options = findSnapshotOptions(serviceName, methodName);
+        if (options == null) {
+            throw new IllegalArgumentException("Snapshot is not configured for: " + serviceName + ", " + methodName);
+        }
+        String key = cacheKey(serviceName, methodName, usiteNo);
+        lastReadAt.put(key, System.currentTimeMillis());
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            snapshot = computeShared(key, serviceName, methodName, usiteNo, options);
+        }
+        return snapshot.toResponse();
+    }
+
+    /**
+     * 스냅샷 조회 결과.
+     * @param body 응답 본문
+     * @param snapshotAt 계산 시각 (epoch ms)
+     * @param staleSeconds 계산 후 경과 초
+     */
+    public record SnapshotResponse(List<Map<String, Object>> body, long snapshotAt, long staleSeconds) {
+    }
+
+    /**
+     * 스냅샷 계산 현황을 반환합니다. (관리자 화면용)
+     */
+    public List<Map<String, Object>> getSnapshotStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        snapshots.forEach((key, snapshot) -> {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("key", key);
+            status.put("snapshotAt", snapshot.snapshotAt);
+            status.put("computeMillis", snapshot.computeMillis);
+            status.put("refreshInterval", snapshot.options.getRefreshInterval().toString());
+            result.add(status);
+        });
+        return result;
+    }
+
+    /**
+     * 갱신 주기가 지난 스냅샷과, 미리 계산하도록 지정된 회원사의 스냅샷을 다시 계산합니다.
+     * 계산 중에도 기존 스냅샷으로 계속 응답하며, 계산에 실패하면 기존 스냅샷을 유지합니다.
+     * 미리 계산 대상이 아닌 스냅샷은 갱신 주기의 idleIntervals 배 동안 조회가 없으면 다시 계산하지 않고 제거합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.snapshot.refresh-check-interval:30000}")
+    public void refreshDue() {
+        for (ServiceOptions serviceOptions : serviceOptionsProperties.getServices()) {
+            SnapshotOptions options = serviceOptions.getSnapshot();
+            if (options == null) {
+                continue;
+            }
+            for (Long usiteNo : options.getUsiteNos()) {
+                String key = cacheKey(serviceOptions.getServiceName(), serviceOptions.getMethodName(), usiteNo);
+                if (!snapshots.containsKey(key)) {
+                    refresh(key, serviceOptions.getServiceName(), serviceOptions.getMethodName(), usiteNo, options);
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        snapshots.forEach((key, snapshot) -> {
+            long interval = snapshot.options.getRefreshInterval().toMillis();
+            if (!snapshot.options.getUsiteNos().contains(snapshot.usiteNo)
+                    && now - lastReadAt.getOrDefault(key, snapshot.snapshotAt) >= interval * idleIntervals) {
+                snapshots.remove(key, snapshot);
+                lastReadAt.remove(key);
+                log.info("Snapshot '{}' evicted after {} idle refresh intervals", key, idleIntervals);
+            } else if (now - snapshot.snapshotAt >= interval) {
+                refresh(key, snapshot.serviceName, snapshot.methodName, snapshot.usiteNo, snapshot.options);
+            }
+        });
+    }
+
+    private void refresh(String key, String serviceName, String methodName, Long usiteNo, SnapshotOptions options) {
+        try {
+            snapshots.put(key, compute(serviceName, methodName, usiteNo, options));
+        } catch (Exception e) {
+            log.warn("Failed to refresh snapshot '{}'. Keeping previous data: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 아직 없는 스냅샷을 계산합니다. 같은 키의 계산이 진행 중이면 그 결과를 기다립니다.
+     * 쿼리는 맵 연산 밖에서 실행하므로 다른 키의 조회/갱신을 막지 않습니다.
+     */
+    private Snapshot computeShared(String key, String serviceName, String methodName, Long usiteNo, SnapshotOptions options) {
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = computing.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot == null) {
+                snapshot = compute(serviceName, methodName, usiteNo, options);
+                snapshots.putIfAbsent(key, snapshot);
+            }
+            future.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            computing.remove(key, future);
+        }
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SnapshotOptions findSnapshotOptions(String serviceName, String methodName) {
+        return serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptions::getSnapshot)
+                .orElse(null);
+    }
+
+    /** 서비스를 실행하여 스냅샷을 계산합니다. */
+    private Snapshot compute(String serviceName, String methodName, Long usiteNo, SnapshotOptions options) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> params = new HashMap<>(options.getParams());
+        params.put("USITE", usiteNo);
+        List<Map<String, Object>> result = dynamicQueryService.executeDynamicQuery(serviceName, methodName, usiteNo, params);
+        Snapshot snapshot = new Snapshot(serviceName, methodName, usiteNo, options, result);
+        snapshot.computeMillis = System.currentTimeMillis() - start;
+        log.info("Snapshot '{}' computed in {} ms", cacheKey(serviceName, methodName, usiteNo), snapshot.computeMillis);
+        return snapshot;
+    }
+
+    private static String cacheKey(String serviceName, String methodName, Long usiteNo) {
+        return usiteNo + ":" + serviceName + "." + methodName;
+    }
+
+    /**
+     * 계산된 스냅샷 하나. 계산 후에는 변경되지 않으므로 여러 스레드에서 잠금 없이 읽을 수 있습니다.
+     */
+    private static class Snapshot {
+
+        final String serviceName;
+        final String methodName;
+        final Long usiteNo;
+        final SnapshotOptions options;
+        final List<Map<String, Object>> result;
+        final long snapshotAt = System.currentTimeMillis();
+        long computeMillis;
+
+        Snapshot(String serviceName, String methodName, Long usiteNo, SnapshotOptions options, List<Map<String, Object>> result) {
+            this.serviceName = serviceName;
+            this.methodName = methodName;
+            this.usiteNo = usiteNo;
+            this.options = options;
+            this.result = List.copyOf(result);
+        }
+
+        /** LIST 결과(data/totalCount)에는 계산 시각과 경과 시간을 더해 반환합니다. 그 외 결과는 본문을 그대로 반환합니다. */
+        SnapshotResponse toResponse() {
+            long staleSeconds = (System.currentTimeMillis() - snapshotAt) / 1000;
+            if (result.size() == 1 && result.get(0).containsKey("data")) {
+                Map<String, Object> response = new LinkedHashMap<>(result.get(0));
+                response.put("snapshotAt", snapshotAt);
+                response.put("staleSeconds", staleSeconds);
+                return new SnapshotResponse(List.of(response), snapshotAt, staleSeconds);
+            }
+            return new SnapshotResponse(result, snapshotAt, staleSeconds);
+        }
+    }
+}
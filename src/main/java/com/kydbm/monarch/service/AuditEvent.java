@@ -0,0 +1,20 @@
+package com.kydbm.monarch.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 동적 쿼리(INSERT/UPDATE/DELETE) 실행 이력을 나타내는 감사 이벤트.
+ * 트랜잭션이 커밋된 뒤 `AuditLogService`의 대기열에 들어가 M_AUDIT_LOG 테이블에 일괄 저장됩니다.
+ * @param usiteNo 회원사 번호
+ * @param userId 실행한 사용자 ID (인증 정보가 없으면 null)
+ * @param serviceName 실행된 서비스명
+ * @param methodName 실행된 메소드명
+ * @param execType 실행 타입 (INSERT, UPDATE, DELETE)
+ * @param params 요청 파라미터
+ * @param affectedRows 영향받은 행 수
+ * @param executedAt 실행 시각
+ */
+public record AuditEvent(Long usiteNo, String userId, String serviceName, String methodName, String execType,
+                         Map<String, Object> params, int affectedRows, Instant executedAt) {
+}
@@ -0,0 +1,343 @@
+package com.kydbm.monarch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kydbm.monarch.config.AuditProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DML 서비스 실행 이력(감사 로그)을 M_AUDIT_LOG 테이블에 저장하는 서비스. (테이블 DDL: `db/audit-log.sql`)
+ * 요청 스레드에서는 커밋된 감사 이벤트를 메모리 대기열에 넣기만 하고,
+ * 실제 저장은 주기 작업이 대기열을 비우며 JDBC 배치로 수행하므로 DML 응답 시간이 늘어나지 않습니다.
+ * 대기열이 가득 찼을 때의 처리는 `monarch.audit.overflow-policy` 설정을 따르며,
+ * 애플리케이션 종료 시에는 남은 이벤트를 모두 저장한 뒤 종료합니다.
+ * 저장에 실패한 이벤트는 버리지 않고 다시 대기열에 넣거나 dead-letter 파일에 남깁니다.
+ */
+@Service
+public class AuditLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
+    private static final String INSERT_SQL = "INSERT INTO M_AUDIT_LOG "
+            + "(USITE_NO, USER_ID, SERVICE_NAME, METHOD_NAME, EXEC_TYPE, PARAMS_JSON, AFFECTED_ROWS, EXECUTED_AT) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    /** PARAMS_JSON 컬럼 길이 (VARCHAR2(4000), 바이트 단위. AL32UTF8에서 한글은 한 글자에 3바이트) */
+    private static final int PARAMS_MAX_BYTES = 4000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditProperties properties;
+    /** 원래 요청의 트랜잭션과 무관하게 감사 로그만 별도로 커밋하기 위한 트랜잭션 템플릿 */
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<AuditEvent> queue;
+    /** 주기 작업과 종료 처리가 동시에 대기열을 비우지 않도록 합니다. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    public AuditLogService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, AuditProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    /**
+     * DML 트랜잭션이 커밋된 뒤 감사 이벤트를 대기열에 넣습니다. (롤백된 변경은 기록하지 않습니다.)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (closed) {
+            // 종료 처리 중에는 주기 작업이 더 이상 돌지 않으므로 바로 저장합니다.
+            writeBatch(List.of(event));
+            return;
+        }
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case DROP_NEWEST -> {
+                dropped.incrementAndGet();
+                log.warn("Audit queue is full ({}), dropped event for {}.{}", properties.getQueueCapacity(), event.serviceName(), event.methodName());
+            }
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+                if (queue.offer(event)) {
+                    enqueued.incrementAndGet();
+                } else {
+                    dropped.incrementAndGet();
+                }
+                log.warn("Audit queue is full ({}), dropped oldest event", properties.getQueueCapacity());
+            }
+            case CALLER_RUNS -> {
+                callerRuns.incrementAndGet();
+                writeBatch(List.of(event));
+            }
+        }
+    }
+
+    /**
+     * 주기적으로 대기열을 비우며 감사 이벤트를 배치 단위로 저장합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.audit.flush-interval:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drain(Long.MAX_VALUE);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 애플리케이션 종료 시 `monarch.audit.shutdown-timeout` 동안 남은 감사 이벤트를 저장합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        long timeoutNanos = properties.getShutdownTimeout().toNanos();
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            if (flushLock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                try {
+                    drain(deadline);
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            List<AuditEvent> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            log.warn("{} audit events were not written before shutdown. Writing them to {}", remaining.size(),
+                    properties.getDeadLetterFile());
+            remaining.forEach(event -> deadLetter(event, "not written before shutdown"));
+        } else {
+            log.info("Audit queue drained: {} events written in total", written.get());
+        }
+    }
+
+    /**
+     * 대기열 현황과 누적 저장/유실 건수를 반환합니다.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("overflowPolicy", properties.getOverflowPolicy());
+        status.put("queueSize", queue.size());
+        status.put("queueCapacity", properties.getQueueCapacity());
+        status.put("enqueued", enqueued.get());
+        status.put("written", written.get());
+        status.put("dropped", dropped.get());
+        status.put("failed", failed.get());
+        status.put("callerRuns", callerRuns.get());
+        status.put("requeued", requeued.get());
+        status.put("deadLettered", deadLettered.get());
+        status.put("deadLetterFile", properties.getDeadLetterFile());
+        return status;
+    }
+
+    /** 대기열이 비거나 deadline(System.nanoTime 기준)이 지날 때까지 배치 단위로 저장합니다. */
+    private void drain(long deadline) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (System.nanoTime() - deadline < 0 && queue.drainTo(batch, batchSize) > 0) {
+            boolean available = writeBatch(batch);
+            batch.clear();
+            if (!available) {
+                // DB에 연결할 수 없으면 다시 넣은 이벤트를 곧바로 재시도하지 않고 다음 주기에 저장합니다.
+                return;
+            }
+        }
+    }
+
+    /**
+     * 감사 이벤트를 JDBC 배치로 저장합니다.
+     * 배치가 실패하면 배치 전체가 롤백되므로, 한 건씩 다시 저장하여 문제가 있는 이벤트만 dead-letter 파일로 보냅니다.
+     * @return DB에 연결할 수 없어 이벤트를 대기열에 다시 넣었으면 false
+     */
+    private boolean writeBatch(List<AuditEvent> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::setValues));
+            written.addAndGet(batch.size());
+            return true;
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                log.warn("Failed to write {} audit events, requeued: {}", batch.size(), e.getMessage());
+                batch.forEach(event -> requeue(event, e));
+                return false;
+            }
+            log.warn("Failed to write {} audit events in a batch, retrying one by one: {}", batch.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEvent event = batch.get(i);
+            try {
+                writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> setValues(ps, event)));
+                written.incrementAndGet();
+            } catch (DataAccessException e) {
+                if (isTransient(e)) {
+                    batch.subList(i, batch.size()).forEach(remaining -> requeue(remaining, e));
+                    return false;
+                }
+                failed.incrementAndGet();
+                log.error("Failed to write audit event for {}.{}", event.serviceName(), event.methodName(), e);
+                deadLetter(event, e.getMostSpecificCause().getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void setValues(PreparedStatement ps, AuditEvent event) throws SQLException {
+        if (event.usiteNo() != null) {
+            ps.setLong(1, event.usiteNo());
+        } else {
+            ps.setNull(1, Types.NUMERIC);
+        }
+        ps.setString(2, event.userId());
+        ps.setString(3, event.serviceName());
+        ps.setString(4, event.methodName());
+        ps.setString(5, event.execType());
+        ps.setString(6, toParamsJson(event.params()));
+        ps.setInt(7, event.affectedRows());
+        ps.setTimestamp(8, Timestamp.from(event.executedAt()));
+    }
+
+    /** 커넥션 실패처럼 다시 시도하면 성공할 수 있는 오류이면 true */
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    /** 일시적인 오류로 저장하지 못한 이벤트를 대기열에 다시 넣습니다. 종료 중이거나 대기열이 가득 차면 dead-letter 파일에 남깁니다. */
+    private void requeue(AuditEvent event, DataAccessException cause) {
+        if (!closed && queue.offer(event)) {
+            requeued.incrementAndGet();
+        } else {
+            deadLetter(event, cause.getMessage());
+        }
+    }
+
+    /**
+     * DB에 저장하지 못한 감사 이벤트를 dead-letter 파일 끝에 JSON 한 줄로 남깁니다. (나중에 M_AUDIT_LOG로 옮길 수 있도록 원본 값 유지)
+     */
+    private synchronized void deadLetter(AuditEvent event, String reason) {
+        deadLettered.incrementAndGet();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("usiteNo", event.usiteNo());
+        entry.put("userId", event.userId());
+        entry.put("serviceName", event.serviceName());
+        entry.put("methodName", event.methodName());
+        entry.put("execType", event.execType());
+        entry.put("params", maskParams(event.params()));
+        entry.put("affectedRows", event.affectedRows());
+        entry.put("executedAt", event.executedAt().toString());
+        entry.put("error", reason);
+        Path file = Path.of(properties.getDeadLetterFile());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // 파일에도 남길 수 없으면 마지막 수단으로 로그에 내용을 남깁니다.
+            log.error("Failed to write audit dead letter to {}: {} {}", file, e.getMessage(), entry);
+        }
+    }
+
+    /** 비밀번호 파라미터를 가리고 JSON 문자열로 변환합니다. 컬럼 길이(바이트)를 넘으면 잘라냅니다. */
+    private String toParamsJson(Map<String, Object> params) {
+        if (params == null) {
+            return null;
+        }
+        try {
+            return truncateUtf8(objectMapper.writeValueAsString(maskParams(params)), PARAMS_MAX_BYTES);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Object> maskParams(Map<String, Object> params) {
+        if (params == null) {
+            return null;
+        }
+        Map<String, Object> masked = new LinkedHashMap<>();
+        params.forEach((key, value) -> masked.put(key, key.toLowerCase().contains("password") ? "***" : value));
+        return masked;
+    }
+
+    /**
+     * UTF-8로 maxBytes 바이트를 넘지 않도록 문자 경계에서 자릅니다.
+     */
+    static String truncateUtf8(String value, int maxBytes) {
+        if (value.length() * 3 <= maxBytes) {
+            return value;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return value;
+        }
+        int end = maxBytes;
+        // 잘리는 위치가 여러 바이트 문자의 중간(10xxxxxx)이면 그 문자의 시작 바이트까지 물러납니다.
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+}
@@ -6,6 +6,7 @@ import com.kydbm.monarch.mapper.UserMapper;
 import org.springframework.security.authentication.LockedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,6 +14,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.List;
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Spring Security의 `UserDetailsService`를 구현한 클래스.
@@ -24,9 +26,13 @@ public class AuthUserService implements UserDetailsService {
     private static final Logger log = LoggerFactory.getLogger(AuthUserService.class);
 
     private final UserMapper userMapper;
+    /** 관리자 API(`/api/admin/**`)를 사용할 수 있는 사용자 코드 (monarch.security.admin-users) */
+    private final Set<String> adminUsers;
 
-    public AuthUserService(UserMapper userMapper) {
+    public AuthUserService(UserMapper userMapper,
+                           @Value("${monarch.security.admin-users:}") Set<String> adminUsers) {
         this.userMapper = userMapper;
+        this.adminUsers = adminUsers;
     }
 
     /**
@@ -38,7 +44,7 @@ public class AuthUserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Attempting to load user by username: {}", username);
+        log.debug("Attempting to load user by username: {}", username);
         List<Map<String, Object>> userDetailsList = userMapper.findUserDetailsByUserCode(username);
 
         if (userDetailsList.isEmpty()) {
@@ -47,7 +53,8 @@ public class AuthUserService implements UserDetailsService {
         }
 
         Map<String, Object> userDetails = userDetailsList.get(0);
-        log.info("User '{}' found. Details: {}", username, userDetails);
+        // 사용자 행에는 비밀번호 해시 등 민감한 정보가 있으므로 상세 내용은 기록하지 않습니다.
+        log.debug("User '{}' found.", username);
 
         // 'khma' 사용자는 계정 잠금 정책에서 제외합니다. (개발/테스트용)
         if (!"khma".equals(username)) {
@@ -76,7 +83,7 @@ public class AuthUserService implements UserDetailsService {
             muser.setLoginFailCnt(((BigDecimal) failCntObj).longValue());
         }
 
-        // MUser 객체를 AuthUser로 감싸서 반환합니다.
-        return new AuthUser(muser);
+        // MUser 객체를 AuthUser로 감싸서 반환합니다. 관리자로 지정된 사용자는 ROLE_ADMIN 권한을 함께 받습니다.
+        return new AuthUser(muser, adminUsers.contains(muser.getUserCode()));
     }
 }
@@ -0,0 +1,636 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.service.DynamicQueryService.BulkStatement;
+import com.kydbm.monarch.service.TenantDataSourceRouter.TenantDataAccess;
+import com.kydbm.monarch.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CSV 파일을 INSERT 서비스로 대량 적재하는 서비스.
+ * 업로드된 파일을 작업 디렉터리에 저장한 뒤 백그라운드에서 한 행씩 읽어, batch-size 행마다 JDBC batch로 실행하고 커밋합니다.
+ * 다음 묶음은 이전 묶음이 커밋된 뒤에 읽으므로 파일 크기와 관계없이 메모리에는 한 묶음만 올라갑니다.
+ * 각 묶음은 INSERT 서비스가 속한 lane의 실행 슬롯을 얻어 실행되며, lane이 포화 상태이면 기다렸다가 다시 시도하여 온라인 요청에 자리를 양보합니다.
+ * 형식이 맞지 않거나 DB에서 거절된 행은 원본 값과 오류 메시지를 reject 파일(CSV)에 기록하고, 나머지 행은 계속 적재합니다.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    private static final String INSERT_EXEC_TYPE = "INSERT";
+    private static final String USITE_PARAM = "USITE";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final DynamicQueryService dynamicQueryService;
+    private final QueryParamBinder queryParamBinder;
+    private final TenantDataSourceRouter tenantDataSourceRouter;
+    private final WorkloadLaneService workloadLaneService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path workDir;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+    private final long defaultMaxRejects;
+    private final long jobTtlMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkImportService(DynamicQueryService dynamicQueryService, QueryParamBinder queryParamBinder,
+                             TenantDataSourceRouter tenantDataSourceRouter, WorkloadLaneService workloadLaneService,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${monarch.import.work-dir:${java.io.tmpdir}/monarch-import}") String workDir,
+                             @Value("${monarch.import.batch-size:1000}") int defaultBatchSize,
+                             @Value("${monarch.import.max-batch-size:10000}") int maxBatchSize,
+                             @Value("${monarch.import.max-rejects:1000}") long defaultMaxRejects,
+                             @Value("${monarch.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                             @Value("${monarch.import.queue-capacity:10}") int queueCapacity,
+                             @Value("${monarch.import.job-ttl:24h}") Duration jobTtl) throws IOException {
+        this.dynamicQueryService = dynamicQueryService;
+        this.queryParamBinder = queryParamBinder;
+        this.tenantDataSourceRouter = tenantDataSourceRouter;
+        this.workloadLaneService = workloadLaneService;
+        this.eventPublisher = eventPublisher;
+        this.workDir = Files.createDirectories(Path.of(workDir));
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.defaultMaxRejects = defaultMaxRejects;
+        this.jobTtlMillis = jobTtl.toMillis();
+        int threads = Math.max(1, maxConcurrentJobs);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory("bulk-import-"));
+    }
+
+    /**
+     * 업로드된 CSV 파일의 적재 작업을 시작합니다.
+     * 첫 줄(헤더)의 컬럼명이 서비스 파라미터명이 되며, columnMapping 으로 다른 이름에 연결할 수 있습니다.
+     * 헤더와 서비스는 요청 스레드에서 바로 확인하므로, 잘못된 요청은 파일을 적재하기 전에 거절됩니다.
+     * @param request 적재 대상 서비스와 옵션
+     * @param file 업로드된 CSV 파일
+     * @return 작업 상태 (jobId 포함)
+     * @throws InvalidParameterException 옵션, 헤더, 서비스가 올바르지 않을 때
+     * @throws ServiceUnavailableException 실행 중이거나 대기 중인 작업이 너무 많을 때
+     */
+    public Map<String, Object> start(ImportRequest request, MultipartFile file) throws IOException {
+        int batchSize = request.batchSize() != null ? request.batchSize() : defaultBatchSize;
+        if (batchSize < 1 || batchSize > maxBatchSize) {
+            throw new InvalidParameterException("batchSize", "batchSize must be between 1 and " + maxBatchSize);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new InvalidParameterException("file", "CSV file is empty");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path upload = workDir.resolve(jobId + ".csv");
+        file.transferTo(upload);
+        try {
+            ImportJob job = new ImportJob(jobId, request, file.getOriginalFilename(), Files.size(upload), upload,
+                    batchSize, request.maxRejects() != null ? request.maxRejects() : defaultMaxRejects, currentUserId());
+            prepare(job);
+            jobs.put(jobId, job);
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(jobId);
+                throw new ServiceUnavailableException("Too many import jobs are running or waiting", 60);
+            }
+            log.info("Bulk import {} queued: {}.{} ({}, {} bytes)", jobId, request.serviceName(), request.methodName(),
+                    job.fileName, job.fileSize);
+            return job.toStatus();
+        } catch (RuntimeException | IOException e) {
+            delete(upload);
+            throw e;
+        }
+    }
+
+    /**
+     * 작업 상태를 반환합니다. 작업을 시작한 사용자만 조회할 수 있습니다.
+     */
+    public Optional<Map<String, Object>> getStatus(String jobId) {
+        return findOwnJob(jobId).map(ImportJob::toStatus);
+    }
+
+    /**
+     * 작업의 reject 파일 경로를 반환합니다. (reject된 행이 없으면 빈 값)
+     */
+    public Optional<Path> getRejectFile(String jobId) {
+        return findOwnJob(jobId)
+                .filter(job -> job.rowsRejected > 0)
+                .map(job -> {
+                    job.flushRejects();
+                    return job.rejectFile;
+                })
+                .filter(Files::exists);
+    }
+
+    /**
+     * 작업을 취소합니다. 이미 커밋된 묶음은 그대로 남고, 진행 중인 묶음이 끝나면 중지됩니다.
+     */
+    public Optional<Map<String, Object>> cancel(String jobId) {
+        return findOwnJob(jobId).map(job -> {
+            job.cancelled = true;
+            return job.toStatus();
+        });
+    }
+
+    /**
+     * 모든 작업의 상태를 반환합니다. (관리자 화면용)
+     */
+    public List<Map<String, Object>> getJobs() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        jobs.values().forEach(job -> result.add(job.toStatus()));
+        return result;
+    }
+
+    /**
+     * 끝난 지 job-ttl 이 지난 작업과 reject 파일을 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.import.purge-interval:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || now - job.finishedAt.toEpochMilli() < jobTtlMillis) {
+                return false;
+            }
+            delete(job.rejectFile);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        executor.shutdown();
+    }
+
+    private Optional<ImportJob> findOwnJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || (job.owner != null && !Objects.equals(job.owner, currentUserId()))) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * 헤더를 읽어 컬럼별 파라미터명을 정하고, 모든 행에 사용할 INSERT 쿼리를 준비합니다.
+     */
+    private void prepare(ImportJob job) throws IOException {
+        List<String> header;
+        try (CsvReader csv = openCsv(job, null)) {
+            header = csv.readRecord();
+        }
+        if (header == null) {
+            throw new InvalidParameterException("file", "CSV file has no header row");
+        }
+
+        Set<String> paramNames = new LinkedHashSet<>(job.fixedParams.keySet());
+        for (String column : header) {
+            String name = column.trim();
+            String paramName = job.columnMapping.getOrDefault(name, name);
+            if (paramName.isEmpty()) {
+                // 이름이 없는 컬럼은 적재하지 않습니다.
+                job.columns.add(null);
+                continue;
+            }
+            if (!paramNames.add(paramName)) {
+                throw new InvalidParameterException(paramName, "Duplicate column for parameter: " + paramName);
+            }
+            job.columns.add(paramName);
+        }
+        job.header = header;
+
+        try {
+            job.statement = dynamicQueryService.prepareBulkInsert(job.serviceName, job.methodName, job.usiteNo, paramNames);
+        } catch (InvalidParameterException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterException("serviceName", e.getMessage());
+        }
+        Set<String> usedParams = job.statement.query().paramNames();
+        job.columns.stream().filter(Objects::nonNull).filter(name -> !usedParams.contains(name)).forEach(job.unusedColumns::add);
+        usedParams.stream().filter(name -> !paramNames.contains(name)).forEach(job.unboundParams::add);
+    }
+
+    private void run(ImportJob job) {
+        job.startedAt = Instant.now();
+        job.status = JobStatus.RUNNING;
+        String lane = workloadLaneService.resolveLane(job.serviceName, job.methodName, INSERT_EXEC_TYPE);
+        try (CsvReader csv = openCsv(job, in -> job.counter = new CountingInputStream(in))) {
+            // 헤더는 작업 시작 시 확인했으므로 건너뜁니다.
+            csv.readRecord();
+            List<PendingRow> batch = new ArrayList<>(job.batchSize);
+            List<String> record;
+            while (!job.cancelled && (record = csv.readRecord()) != null) {
+                job.rowsRead++;
+                PendingRow row = toRow(job, csv.getRecordLineNumber(), record);
+                if (row != null) {
+                    batch.add(row);
+                }
+                if (batch.size() >= job.batchSize) {
+                    executeBatch(job, lane, batch);
+                    batch.clear();
+                }
+                if (job.maxRejects >= 0 && job.rowsRejected > job.maxRejects) {
+                    throw new IllegalStateException("Too many rejected rows (" + job.rowsRejected + "). Check the column mapping.");
+                }
+            }
+            if (!job.cancelled && !batch.isEmpty()) {
+                executeBatch(job, lane, batch);
+            }
+            job.finish(job.cancelled ? JobStatus.CANCELLED : JobStatus.COMPLETED, null);
+            log.info("Bulk import {} {}: {} rows inserted, {} rejected in {} batches",
+                    job.jobId, job.status, job.rowsInserted, job.rowsRejected, job.batches);
+        } catch (Exception e) {
+            log.warn("Bulk import {} failed after {} rows inserted: {}", job.jobId, job.rowsInserted, e.getMessage());
+            job.finish(JobStatus.FAILED, e.getMessage());
+        } finally {
+            job.closeRejects();
+            delete(job.upload);
+        }
+    }
+
+    /**
+     * CSV 레코드 하나를 바인드 변수로 변환합니다. 변환할 수 없는 행은 reject 파일에 기록하고 null을 반환합니다.
+     */
+    private PendingRow toRow(ImportJob job, long line, List<String> record) throws IOException {
+        if (record.size() != job.columns.size()) {
+            job.reject(line, record, "Expected " + job.columns.size() + " columns but found " + record.size());
+            return null;
+        }
+        Map<String, Object> params = new HashMap<>(job.fixedParams);
+        for (int i = 0; i < record.size(); i++) {
+            String paramName = job.columns.get(i);
+            if (paramName != null) {
+                params.put(paramName, record.get(i));
+            }
+        }
+        try {
+            Map<String, Object> converted = queryParamBinder.convert(job.serviceName, job.methodName, params);
+            return new PendingRow(line, record, dynamicQueryService.bindBulkRow(job.statement, converted));
+        } catch (InvalidParameterException e) {
+            job.reject(line, record, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 묶음 하나를 JDBC batch로 실행하고 커밋합니다.
+     * 묶음 중 한 행이라도 실패하면 묶음 전체가 롤백되므로, 한 행씩 다시 실행하여 실패한 행만 reject 파일에 기록합니다.
+     */
+    private void executeBatch(ImportJob job, String lane, List<PendingRow> batch) throws IOException {
+        long fromLine = batch.get(0).line();
+        long toLine = batch.get(batch.size() - 1).line();
+        String sql = job.statement.query().sql();
+        SqlParameterSource[] parameters = batch.stream().map(PendingRow::parameters).toArray(SqlParameterSource[]::new);
+        try {
+            withLane(job, lane, () -> {
+                TenantDataAccess access = tenantDataSourceRouter.forTenant(job.usiteNo);
+                return access.transactionTemplate().execute(status -> {
+                    access.jdbcTemplate().batchUpdate(sql, parameters);
+                    publishEvents(job, batch.size(), fromLine, toLine);
+                    return null;
+                });
+            });
+            job.rowsInserted += batch.size();
+        } catch (DataAccessException e) {
+            log.debug("Bulk import {} batch at lines {}-{} failed, retrying row by row: {}", job.jobId, fromLine, toLine,
+                    e.getMostSpecificCause().getMessage());
+            Map<PendingRow, String> failed = new LinkedHashMap<>();
+            int inserted = withLane(job, lane, () -> {
+                TenantDataAccess access = tenantDataSourceRouter.forTenant(job.usiteNo);
+                int count = 0;
+                for (PendingRow row : batch) {
+                    try {
+                        access.transactionTemplate().execute(status -> access.jdbcTemplate().update(sql, row.parameters()));
+                        count++;
+                    } catch (DataAccessException rowError) {
+                        failed.put(row, rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+                return count;
+            });
+            for (Map.Entry<PendingRow, String> entry : failed.entrySet()) {
+                job.reject(entry.getKey().line(), entry.getKey().values(), entry.getValue());
+            }
+            if (inserted > 0) {
+                publishEvents(job, inserted, fromLine, toLine);
+            }
+            job.rowsInserted += inserted;
+        }
+        job.batches++;
+        job.lastCommittedLine = toLine;
+        job.flushRejects();
+    }
+
+    /**
+     * lane의 실행 슬롯을 얻어 실행합니다. lane이 포화 상태이거나 DB(shard)에 연결할 수 없으면 기다렸다가 다시 시도합니다.
+     */
+    private <T> T withLane(ImportJob job, String lane, Supplier<T> work) {
+        while (true) {
+            try {
+                return workloadLaneService.execute(lane, work);
+            } catch (ServiceUnavailableException e) {
+                if (job.cancelled) {
+                    throw e;
+                }
+                job.throttled++;
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(1, e.getRetryAfterSeconds())));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시 무효화와 감사 로그를 위해 묶음 단위로 변경 이벤트를 발행합니다. (행마다 발행하지 않음)
+     */
+    private void publishEvents(ImportJob job, int insertedRows, long fromLine, long toLine) {
+        eventPublisher.publishEvent(new DataChangedEvent(job.serviceName, job.methodName, job.statement.tableName(), job.usiteNo));
+        Map<String, Object> auditParams = new LinkedHashMap<>();
+        auditParams.put("_import", job.jobId);
+        auditParams.put("_file", job.fileName);
+        auditParams.put("_fromLine", fromLine);
+        auditParams.put("_toLine", toLine);
+        eventPublisher.publishEvent(new AuditEvent(job.usiteNo, job.owner, job.serviceName, job.methodName,
+                INSERT_EXEC_TYPE, auditParams, insertedRows, Instant.now()));
+    }
+
+    private CsvReader openCsv(ImportJob job, UnaryOperator<InputStream> wrapper) throws IOException {
+        InputStream in = Files.newInputStream(job.upload);
+        if (wrapper != null) {
+            in = wrapper.apply(in);
+        }
+        return new CsvReader(new BufferedReader(new InputStreamReader(in, job.charset), READ_BUFFER_SIZE), job.delimiter);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete bulk import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    /** CSV 레코드 하나를 씁니다. 구분자, 따옴표, 줄바꿈이 들어 있는 값은 따옴표로 감쌉니다. */
+    private static void writeCsvRecord(Writer writer, List<String> values, char delimiter) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            String value = values.get(i) != null ? values.get(i) : "";
+            if (value.indexOf(delimiter) >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 적재 요청.
+     * @param serviceName INSERT 서비스명
+     * @param methodName INSERT 메소드명
+     * @param usiteNo 회원사 번호
+     * @param columnMapping CSV 헤더명 → 서비스 파라미터명 (지정하지 않은 컬럼은 헤더명 그대로 사용)
+     * @param fixedParams 모든 행에 같은 값으로 전달할 파라미터
+     * @param charset 파일 인코딩 (Excel에서 저장한 CSV는 보통 MS949)
+     * @param delimiter 값 구분자
+     * @param batchSize 한 번에 실행하고 커밋할 행 수 (null이면 monarch.import.batch-size)
+     * @param maxRejects reject된 행이 이 수를 넘으면 작업을 중지 (null이면 monarch.import.max-rejects, 음수면 제한 없음)
+     */
+    public record ImportRequest(String serviceName, String methodName, Long usiteNo, Map<String, String> columnMapping,
+                                Map<String, Object> fixedParams, Charset charset, char delimiter,
+                                Integer batchSize, Long maxRejects) {
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    /**
+     * 바인드 변수로 변환된 행 하나.
+     * @param line CSV 파일에서의 줄 번호
+     * @param values 원본 값 (reject 파일 기록용)
+     */
+    private record PendingRow(long line, List<String> values, SqlParameterSource parameters) {
+    }
+
+    /** 읽은 바이트 수를 세는 입력 스트림 (진행률 계산용) */
+    private static class CountingInputStream extends FilterInputStream {
+
+        volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * 적재 작업 하나. 진행 상황 필드는 작업 스레드만 변경하고, 상태 조회 요청은 읽기만 합니다.
+     */
+    private class ImportJob {
+
+        final String jobId;
+        final String serviceName;
+        final String methodName;
+        final Long usiteNo;
+        final Map<String, String> columnMapping;
+        final Map<String, Object> fixedParams;
+        final Charset charset;
+        final char delimiter;
+        final String fileName;
+        final long fileSize;
+        final Path upload;
+        final Path rejectFile;
+        final int batchSize;
+        final long maxRejects;
+        final String owner;
+        final Instant queuedAt = Instant.now();
+        /** CSV 컬럼 순서대로의 파라미터명 (적재하지 않는 컬럼은 null) */
+        final List<String> columns = new ArrayList<>();
+        /** 쿼리에서 사용하지 않는 CSV 컬럼 */
+        final List<String> unusedColumns = new ArrayList<>();
+        /** 쿼리에서 사용하지만 CSV 컬럼과 고정 파라미터에 없는 파라미터 (NULL로 바인딩) */
+        final List<String> unboundParams = new ArrayList<>();
+        List<String> header;
+        BulkStatement statement;
+        volatile CountingInputStream counter;
+        BufferedWriter rejectWriter;
+
+        volatile JobStatus status = JobStatus.QUEUED;
+        volatile boolean cancelled;
+        volatile long rowsRead;
+        volatile long rowsInserted;
+        volatile long rowsRejected;
+        volatile long batches;
+        volatile long lastCommittedLine;
+        volatile long throttled;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        ImportJob(String jobId, ImportRequest request, String fileName, long fileSize, Path upload,
+                  int batchSize, long maxRejects, String owner) {
+            this.jobId = jobId;
+            this.serviceName = request.serviceName();
+            this.methodName = request.methodName();
+            this.usiteNo = request.usiteNo();
+            this.columnMapping = request.columnMapping();
+            this.fixedParams = new HashMap<>(request.fixedParams());
+            this.fixedParams.put(USITE_PARAM, request.usiteNo());
+            this.charset = request.charset();
+            this.delimiter = request.delimiter();
+            this.fileName = fileName;
+            this.fileSize = fileSize;
+            this.upload = upload;
+            this.rejectFile = workDir.resolve(jobId + "-rejects.csv");
+            this.batchSize = batchSize;
+            this.maxRejects = maxRejects;
+            this.owner = owner;
+        }
+
+        /** 행 하나를 reject 파일에 원본 값, 줄 번호, 오류 메시지와 함께 기록합니다. */
+        synchronized void reject(long line, List<String> values, String message) throws IOException {
+            if (rejectWriter == null) {
+                rejectWriter = Files.newBufferedWriter(rejectFile, charset);
+                List<String> rejectHeader = new ArrayList<>(header);
+                rejectHeader.add("_LINE");
+                rejectHeader.add("_ERROR");
+                writeCsvRecord(rejectWriter, rejectHeader, delimiter);
+            }
+            List<String> rejectValues = new ArrayList<>(values);
+            rejectValues.add(String.valueOf(line));
+            rejectValues.add(message);
+            writeCsvRecord(rejectWriter, rejectValues, delimiter);
+            rowsRejected++;
+        }
+
+        synchronized void flushRejects() {
+            if (rejectWriter != null) {
+                try {
+                    rejectWriter.flush();
+                } catch (IOException e) {
+                    log.warn("Failed to flush reject file {}: {}", rejectFile, e.getMessage());
+                }
+            }
+        }
+
+        synchronized void closeRejects() {
+            if (rejectWriter != null) {
+                try {
+                    rejectWriter.close();
+                    rejectWriter = null;
+                } catch (IOException e) {
+                    log.warn("Failed to close reject file {}: {}", rejectFile, e.getMessage());
+                }
+            }
+        }
+
+        void finish(JobStatus finalStatus, String message) {
+            error = message;
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        Map<String, Object> toStatus() {
+            long bytesRead = finishedAt != null && status == JobStatus.COMPLETED ? fileSize
+                    : counter != null ? counter.count : 0;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = startedAt != null ? Math.max(0.001, Duration.between(startedAt, end).toMillis() / 1000.0) : 0;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobId", jobId);
+            result.put("serviceName", serviceName);
+            result.put("methodName", methodName);
+            result.put("usiteNo", usiteNo);
+            result.put("fileName", fileName);
+            result.put("status", status);
+            result.put("fileSize", fileSize);
+            result.put("bytesRead", bytesRead);
+            result.put("progress", fileSize > 0 ? Math.round(bytesRead * 1000.0 / fileSize) / 10.0 : 0);
+            result.put("rowsRead", rowsRead);
+            result.put("rowsInserted", rowsInserted);
+            result.put("rowsRejected", rowsRejected);
+            result.put("batchSize", batchSize);
+            result.put("batches", batches);
+            result.put("lastCommittedLine", lastCommittedLine);
+            result.put("throttled", throttled);
+            result.put("rowsPerSecond", seconds > 0 ? Math.round(rowsInserted / seconds) : 0);
+            result.put("unusedColumns", unusedColumns);
+            result.put("unboundParams", unboundParams);
+            result.put("queuedAt", queuedAt);
+            result.put("startedAt", startedAt);
+            result.put("finishedAt", finishedAt);
+            result.put("error", error);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kydbm.monarch.service;
+
+/**
+ * 동적 쿼리(INSERT/UPDATE/DELETE)로 데이터가 변경되었음을 알리는 이벤트.
+ * 캐시나 구독 채널처럼 조회 결과를 보관하는 컴포넌트가 이 이벤트를 받아 자신의 데이터를 무효화합니다.
+ * @param serviceName 실행된 서비스명
+ * @param methodName 실행된 메소드명
+ * @param tableName M_SERVICE 테이블의 TABLE_NAME 값 (변경 대상 테이블, 없을 수 있음)
+ * @param usiteNo 회원사 번호
+ */
+public record DataChangedEvent(String serviceName, String methodName, String tableName, Long usiteNo) {
+
+    /**
+     * 이 변경이 주어진 테이블에 영향을 주는지 확인합니다.
+     * M_SERVICE의 TABLE_NAME에는 쉼표로 구분된 여러 테이블이 들어 있을 수 있습니다.
+     * @param otherTableName 비교할 테이블 목록 (쉼표 구분)
+     * @return 겹치는 테이블이 하나라도 있으면 true
+     */
+    public boolean affects(String otherTableName) {
+        if (tableName == null || otherTableName == null) {
+            return false;
+        }
+        for (String changed : tableName.split(",")) {
+            for (String other : otherTableName.split(",")) {
+                if (!changed.isBlank() && changed.trim().equalsIgnoreCase(other.trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,19 +1,58 @@
 package com.kydbm.monarch.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kydbm.monarch.mapper.MStructureMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 동적 그리드의 구조(Structure) 정보를 관리하는 서비스.
- * M_STRUCTURE 테이블에서 화면 구성 정보를 조회합니다.
+ * M_STRUCTURE 테이블에서 화면 구성 정보를 조회하며, 정리된 구성 정보는 cache-ttl 동안 메모리에 보관합니다.
+ * M_STRUCTURE를 변경하는 동적 쿼리가 실행되면 해당 회원사의 캐시를 비웁니다.
+ * 만료된 항목은 주기적으로 제거하며, 항목 수가 cache-max-entries 에 이르면 새 항목은 캐시하지 않습니다.
+ * (존재하지 않는 화면 이름을 계속 요청해도 메모리가 늘어나지 않도록)
  */
 @Service
 public class DynamicGridStructure {
 
+    private static final Logger log = LoggerFactory.getLogger(DynamicGridStructure.class);
+    private static final String STRUCTURE_TABLE = "M_STRUCTURE";
+    /** 한 번의 묶음 조회에 포함할 수 있는 최대 화면 수 (Oracle IN 목록 제한 1000개보다 충분히 작게) */
+    public static final int MAX_BUNDLE_SIZE = 100;
+
     private final MStructureMapper mStructureMapper;
+    private final ObjectMapper objectMapper;
+    private final long cacheTtlMillis;
+    private final int cacheMaxEntries;
+    /** "회원사번호:화면이름" → 정리된 구성 정보 (존재하지 않는 화면도 content=null 로 보관) */
+    private final Map<String, CachedStructure> cache = new ConcurrentHashMap<>();
 
-    public DynamicGridStructure(MStructureMapper mStructureMapper) {
+    public DynamicGridStructure(MStructureMapper mStructureMapper, ObjectMapper objectMapper,
+                                @Value("${monarch.structure.cache-ttl:10m}") Duration cacheTtl,
+                                @Value("${monarch.structure.cache-max-entries:10000}") int cacheMaxEntries) {
         this.mStructureMapper = mStructureMapper;
+        this.objectMapper = objectMapper;
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.cacheMaxEntries = cacheMaxEntries;
     }
 
     /**
@@ -25,4 +64,198 @@ public class DynamicGridStructure {
     public String getStructureByName(String structureName, Long usiteNo) {
         return mStructureMapper.findByName(structureName, usiteNo);
     }
+
+    /**
+     * 화면 구성 정보를 조회한 뒤, 프론트엔드에서 `JSON.parse` 할 수 있도록 주석과 불필요한 쉼표를 정리하여 반환합니다.
+     * @param structureName 조회할 화면의 고유 이름
+     * @param usiteNo 회원사 번호
+     * @return 정리된 화면 구성 정보 (JSON 형식의 문자열). 존재하지 않으면 null
+     */
+    public String getCleanStructureByName(String structureName, Long usiteNo) {
+        return getStructureBundle(List.of(structureName), usiteNo).structures().get(structureName);
+    }
+
+    /**
+     * 여러 화면의 정리된 구성 정보를 한 번에 반환합니다. 캐시에 없는 화면만 모아서 한 번의 쿼리로 조회합니다.
+     * @param structureNames 조회할 화면 이름 목록 (최대 MAX_BUNDLE_SIZE 개)
+     * @param usiteNo 회원사 번호
+     * @return 화면별 구성 정보, 존재하지 않는 화면 목록, 전체 내용에 대한 ETag
+     * @throws IllegalArgumentException 화면 이름이 MAX_BUNDLE_SIZE 개를 넘을 때
+     */
+    public StructureBundle getStructureBundle(Collection<String> structureNames, Long usiteNo) {
+        Set<String> names = new LinkedHashSet<>(structureNames);
+        if (names.size() > MAX_BUNDLE_SIZE) {
+            throw new IllegalArgumentException("Too many structures requested: " + names.size() + " (max " + MAX_BUNDLE_SIZE + ")");
+        }
+        long now = System.currentTimeMillis();
+        Map<String, CachedStructure> found = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            CachedStructure cached = cache.get(cacheKey(usiteNo, name));
+            if (cached != null && now - cached.loadedAt() < cacheTtlMillis) {
+                found.put(name, cached);
+            } else {
+                misses.add(name);
+            }
+        }
+        if (!misses.isEmpty()) {
+            found.putAll(load(misses, usiteNo, now));
+        }
+
+        Map<String, String> structures = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        StringBuilder versions = new StringBuilder().append(usiteNo);
+        for (String name : names) {
+            CachedStructure structure = found.get(name);
+            if (structure.content() != null) {
+                structures.put(name, structure.content());
+            } else {
+                missing.add(name);
+            }
+            versions.append(';').append(name).append('=').append(structure.hash());
+        }
+        return new StructureBundle(structures, missing, '"' + sha256(versions.toString()).substring(0, 32) + '"');
+    }
+
+    /**
+     * 캐시에 없는 화면들을 한 번의 쿼리로 조회하여 캐시에 넣습니다.
+     */
+    private Map<String, CachedStructure> load(List<String> names, Long usiteNo, long now) {
+        Map<String, String> contents = new LinkedHashMap<>();
+        for (Map<String, Object> row : mStructureMapper.findByNames(names, usiteNo)) {
+            contents.put(String.valueOf(row.get("STRUCTURE_NAME")), (String) row.get("STRUCTURE_CONT"));
+        }
+        Map<String, CachedStructure> loaded = new LinkedHashMap<>();
+        for (String name : names) {
+            String content = cleanStructureCont(contents.get(name));
+            CachedStructure structure = new CachedStructure(content, content != null ? sha256(content) : "-", now);
+            if (cache.size() < cacheMaxEntries) {
+                cache.put(cacheKey(usiteNo, name), structure);
+            } else {
+                // 캐시가 가득 차면 갱신(이미 있는 키)만 반영합니다.
+                cache.replace(cacheKey(usiteNo, name), structure);
+            }
+            loaded.put(name, structure);
+        }
+        return loaded;
+    }
+
+    /**
+     * M_STRUCTURE를 변경하는 동적 쿼리가 커밋되면 해당 회원사의 캐시를 비웁니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.affects(STRUCTURE_TABLE)) {
+            String prefix = event.usiteNo() + ":";
+            cache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * cache-ttl 이 지난 항목을 제거합니다. (다시 요청되지 않는 화면과 존재하지 않는 화면 이름)
+     */
+    @Scheduled(fixedDelayString = "${monarch.structure.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(structure -> now - structure.loadedAt() >= cacheTtlMillis);
+    }
+
+    private static String cacheKey(Long usiteNo, String structureName) {
+        return usiteNo + ":" + structureName;
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 그리드에 실제로 표시되는 컬럼 목록을 반환합니다.
+     * 화면 구성 정보의 `colModel[].field`와 행 식별용 `keyName`을 포함합니다.
+     * @param structureName 조회할 화면의 고유 이름
+     * @param usiteNo 회원사 번호
+     * @return 표시 컬럼명 목록 (대문자). 화면 구성 정보가 없거나 해석할 수 없으면 빈 목록
+     */
+    public List<String> getVisibleColumns(String structureName, Long usiteNo) {
+        String structureCont = getCleanStructureByName(structureName, usiteNo);
+        if (structureCont == null || structureCont.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return extractVisibleColumns(parseStructure(structureCont));
+        } catch (Exception e) {
+            log.warn("Failed to parse structure '{}' for column projection: {}", structureName, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 파싱된 화면 구성 정보에서 표시 컬럼 목록을 추출합니다.
+     * @param structure 파싱된 화면 구성 정보
+     * @return 표시 컬럼명 목록 (대문자, 중복 제거)
+     */
+    public List<String> extractVisibleColumns(JsonNode structure) {
+        Set<String> columns = new LinkedHashSet<>();
+        String keyName = structure.path("keyName").asText("");
+        if (!keyName.isEmpty()) {
+            columns.add(keyName.toUpperCase());
+        }
+        for (JsonNode col : structure.path("colModel")) {
+            String field = col.path("field").asText("");
+            if (!field.isEmpty()) {
+                columns.add(field.toUpperCase());
+            }
+        }
+        return new ArrayList<>(columns);
+    }
+
+    /**
+     * M_STRUCTURE에 저장된 JavaScript 객체 형식의 문자열을 표준 JSON에 가깝게 정리합니다.
+     * @param structureContString 원본 화면 구성 정보
+     * @return 정리된 화면 구성 정보
+     */
+    public String cleanStructureCont(String structureContString) {
+        if (structureContString != null && !structureContString.trim().isEmpty()) {
+            // 1. JavaScript/JSON 주석 제거: // 형식의 주석을 제거합니다.
+            structureContString = structureContString.replaceAll("//.*?(?=,|\\}|\\])", "");
+            // 2. 중복 쉼표 제거: 연속된 쉼표를 하나로 통합합니다.
+            structureContString = structureContString.replaceAll(",\\s*,+", ",");
+            // 3. 배열 또는 객체의 마지막에 있는 불필요한 쉼표(trailing comma)를 제거합니다.
+            structureContString = structureContString.replaceAll(",(\\s*})", "$1");
+            structureContString = structureContString.replaceAll(",(\\s*])", "$1");
+            // 4. 줄바꿈, 탭 등 불필요한 공백을 제거하여 파싱 오류 가능성을 줄입니다.
+            structureContString = structureContString.replaceAll("\\s+", " ").trim();
+        }
+        return structureContString;
+    }
+
+    /**
+     * 정리된 화면 구성 정보 문자열을 JSON 트리로 파싱합니다.
+     * @param structureCont `cleanStructureCont`로 정리된 화면 구성 정보
+     * @return 파싱된 화면 구성 정보
+     * @throws IllegalArgumentException JSON 형식이 올바르지 않을 때
+     */
+    public JsonNode parseStructure(String structureCont) {
+        try {
+            return objectMapper.readTree(structureCont);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid structure definition: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 여러 화면의 구성 정보 묶음.
+     * @param structures 화면 이름 → 정리된 구성 정보 (요청 순서)
+     * @param missing 존재하지 않는 화면 이름 목록
+     * @param etag 요청한 화면들의 내용이 같으면 같은 값을 갖는 ETag (따옴표 포함)
+     */
+    public record StructureBundle(Map<String, String> structures, List<String> missing, String etag) {
+    }
+
+    /** 캐시된 화면 구성 정보 하나 (content가 null이면 존재하지 않는 화면) */
+    private record CachedStructure(String content, String hash, long loadedAt) {
+    }
 }
@@ -1,19 +1,43 @@
 package com.kydbm.monarch.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.DeltaOptions;
 import com.kydbm.monarch.mapper.MServiceMapper;
 import org.springframework.context.ApplicationContext;
 import org.springframework.lang.NonNull;
 import org.springframework.context.ApplicationContextAware;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
 import java.sql.Clob;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
@@ -27,8 +51,44 @@ import org.slf4j.Logger;
 public class DynamicQueryService implements ApplicationContextAware {
 
     private static final Logger log = LoggerFactory.getLogger(DynamicQueryService.class);
+    /** 페이징 범위 바인드 변수명. M_SERVICE 쿼리의 @PARAM@ 이름과 겹치지 않도록 접두어를 붙입니다. */
+    private static final String START_ROW_PARAM = "MON_START_ROW";
+    private static final String END_ROW_PARAM = "MON_END_ROW";
+    /** 생성된 키를 반환받을 컬럼명을 지정하는 제어 파라미터 (쉼표로 여러 개 지정 가능) */
+    private static final String KEY_COLUMN_PARAM = "_keyColumn";
+    /** 변경분 조회의 기준 워터마크를 전달하는 제어 파라미터와, 이를 바인딩하는 변수명 */
+    private static final String SINCE_PARAM = "_since";
+    private static final String SINCE_BIND_PARAM = "MON_SINCE";
+    /** 결과 스냅샷을 요청하는 제어 파라미터. "new"면 새로 만들고, 그 외의 값은 스냅샷 ID로 사용합니다. */
+    private static final String RESULT_SNAPSHOT_PARAM = "_snapshot";
+    private static final String NEW_RESULT_SNAPSHOT = "new";
+    /** 합계(footer) 컬럼에 사용할 수 있는 집계 함수 */
+    private static final Set<String> AGGREGATE_FUNCTIONS = Set.of("SUM", "AVG", "MIN", "MAX");
+    /** 여러 서비스 메소드를 한 트랜잭션으로 실행하는 실행 타입 */
+    private static final String COMPOSITE_EXEC_TYPE = "COMPOSITE";
+    /** 컬럼 프로젝션에 허용되는 컬럼명 형식 (따옴표 없는 Oracle 식별자) */
+    private static final Pattern COLUMN_NAME_PATTERN = Pattern.compile("^[A-Za-z][A-Za-z0-9_$#]{0,127}$");
+    private static final Pattern DYNAMIC_BLOCK_PATTERN = Pattern.compile("/\\*([\\s\\S]*?@[a-zA-Z0-9_]+@[\\s\\S]*?)\\*/");
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("@[a-zA-Z0-9_]+@");
+    /** 쿼리별 결과 컬럼명 캐시의 최대 항목 수. 넘으면 비우고 다시 채웁니다. */
+    private static final int QUERY_COLUMNS_CACHE_SIZE = 1000;
     private final MServiceMapper mServiceMapper;
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TenantDataSourceRouter tenantDataSourceRouter;
+    private final QueryGuardService queryGuardService;
+    private final DynamicGridStructure dynamicGridStructure;
+    private final SqlLogSampler sqlLogSampler;
+    private final ObjectMapper objectMapper;
+    private final RequestCoalescer requestCoalescer;
+    private final WorkloadLaneService workloadLaneService;
+    private final LobStore lobStore;
+    private final ServiceOptionsProperties serviceOptionsProperties;
+    private final ResultSnapshotStore resultSnapshotStore;
+    private final QueryParamBinder queryParamBinder;
+    private final ResultBudget resultBudget;
+    /** 서비스별로 마지막에 확인된 실행 타입. 요청 병합(coalescing) 대상과 lane을 실행 전에 판단하는 데 사용합니다. */
+    private final Map<String, String> knownExecTypes = new ConcurrentHashMap<>();
+    /** 치환된 쿼리별 실제 결과 컬럼명(대문자). 키: 회원사 번호 + 쿼리문. 프로젝션에서 쿼리에 없는 컬럼을 제외하는 데 사용합니다. */
+    private final Map<String, Set<String>> queryColumns = new ConcurrentHashMap<>();
     private ApplicationContext applicationContext;
 
     /** Spring 컨테이너가 Bean 초기화 시 ApplicationContext를 주입합니다. */
@@ -38,9 +98,26 @@ public class DynamicQueryService implements ApplicationContextAware {
     }
 
     /** Spring이 필요한 의존성을 자동으로 주입하는 생성자 */
-    public DynamicQueryService(MServiceMapper mServiceMapper, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    public DynamicQueryService(MServiceMapper mServiceMapper, TenantDataSourceRouter tenantDataSourceRouter,
+                               QueryGuardService queryGuardService,
+                               DynamicGridStructure dynamicGridStructure, SqlLogSampler sqlLogSampler,
+                               ObjectMapper objectMapper, RequestCoalescer requestCoalescer,
+                               WorkloadLaneService workloadLaneService, LobStore lobStore,
+                               ServiceOptionsProperties serviceOptionsProperties, ResultSnapshotStore resultSnapshotStore,
+                               QueryParamBinder queryParamBinder, ResultBudget resultBudget) {
         this.mServiceMapper = mServiceMapper;
-        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.tenantDataSourceRouter = tenantDataSourceRouter;
+        this.queryGuardService = queryGuardService;
+        this.dynamicGridStructure = dynamicGridStructure;
+        this.sqlLogSampler = sqlLogSampler;
+        this.objectMapper = objectMapper;
+        this.requestCoalescer = requestCoalescer;
+        this.workloadLaneService = workloadLaneService;
+        this.lobStore = lobStore;
+        this.serviceOptionsProperties = serviceOptionsProperties;
+        this.resultSnapshotStore = resultSnapshotStore;
+        this.queryParamBinder = queryParamBinder;
+        this.resultBudget = resultBudget;
     }
 
     /**
@@ -48,13 +125,83 @@ public class DynamicQueryService implements ApplicationContextAware {
      * @param serviceName M_SERVICE 테이블의 SERVICE_NAME 컬럼 값
      * @param methodName M_SERVICE 테이블의 METHOD_NAME 컬럼 값
      * @param mUsiteNo 회원사 번호
-     * @param queryParams 쿼리 실행에 필요한 파라미터들을 담은 Map
+     * @param requestParams 쿼리 실행에 필요한 파라미터들을 담은 Map
      * @return 쿼리 실행 결과 (List<Map<String, Object>> 형태)
+     * @throws InvalidParameterException 파라미터가 서비스의 파라미터 스키마에 맞지 않을 때
+     * @throws ServiceUnavailableException 해당 서비스 메소드의 서킷이 열려 있거나 동시 실행 허용 수를 초과했을 때,
+     *         또는 서비스가 속한 lane의 대기열이 가득 찼을 때, 회원사의 DB(shard)에 연결할 수 없을 때
      */
-    @Transactional
-    public List<Map<String, Object>> executeDynamicQuery(String serviceName, String methodName, Long mUsiteNo, Map<String, Object> queryParams) {
+    public List<Map<String, Object>> executeDynamicQuery(String serviceName, String methodName, Long mUsiteNo, Map<String, Object> requestParams) {
+        String serviceKey = serviceKey(serviceName, methodName, mUsiteNo);
+        // 파라미터 스키마가 설정된 파라미터는 커넥션을 얻기 전에 한 번 검증하고 타입에 맞게 변환합니다.
+        Map<String, Object> queryParams = queryParamBinder.convert(serviceName, methodName, requestParams);
+
+        // 결과 스냅샷 ID가 전달되면 DB를 거치지 않고 저장된 결과에서 페이지를 읽습니다. (만료되었으면 새로 만듭니다)
+        Object snapshotId = queryParams.get(RESULT_SNAPSHOT_PARAM);
+        if (snapshotId != null && !snapshotId.toString().isBlank() && !NEW_RESULT_SNAPSHOT.equals(snapshotId.toString())) {
+            Optional<List<Map<String, Object>>> cached = resultSnapshotStore.page(snapshotId.toString(), serviceKey,
+                    pageParam(queryParams), sizeParam(queryParams), normalizeSort(queryParams.get("_sort")));
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        // 동시 실행 허용 여부를 트랜잭션(커넥션 획득) 시작 전에 판단하여, 거절된 요청이 커넥션을 점유하지 않도록 합니다.
+        // 작업 유형(lane)별 실행 슬롯도 커넥션 획득 전에 확보합니다.
+        // 트랜잭션은 회원사에 지정된 DB(shard)의 커넥션으로 시작합니다. (M_SERVICE 등 메타데이터는 기본 데이터소스에서 조회)
+        TransactionTemplate transactionTemplate = tenantDataSourceRouter.forTenant(mUsiteNo).transactionTemplate();
+        String lane = workloadLaneService.resolveLane(serviceName, methodName, knownExecTypes.get(serviceKey));
+        // 단계별 소요 시간(Server-Timing): queue = lane 실행 슬롯 대기, connect = 커넥션 획득
+        Supplier<List<Map<String, Object>>> execution = () -> {
+            long submittedAt = System.nanoTime();
+            return workloadLaneService.execute(lane, () -> {
+                RequestTiming.record("queue", System.nanoTime() - submittedAt, -1);
+                return queryGuardService.execute(serviceName, methodName, () -> {
+                    long connectStart = System.nanoTime();
+                    return transactionTemplate.execute(status -> {
+                        RequestTiming.record("connect", System.nanoTime() - connectStart, -1);
+                        return executeInTransaction(serviceName, methodName, mUsiteNo, queryParams, false);
+                    });
+                });
+            });
+        };
+
+        // 조회(READ/LIST)로 확인된 서비스는 같은 조건의 동시 요청을 한 번만 실행하고 결과를 공유합니다.
+        // 결과 스냅샷은 요청한 사용자만 사용할 수 있으므로 공유하지 않습니다.
+        if (!isReadExecType(serviceKey) || snapshotId != null
+                || queryParams.keySet().stream().anyMatch(key -> key.toLowerCase().contains("password"))) {
+            return execution.get();
+        }
+        String coalesceKey = serviceKey + "?" + new TreeMap<>(queryParams);
+        // 결과를 기다리는 동안 M_SERVICE가 변경되어 조회가 아니게 되었다면 결과를 공유하지 않고 직접 실행합니다.
+        return requestCoalescer.execute(coalesceKey, execution, () -> isReadExecType(serviceKey));
+    }
+
+    /**
+     * 한 번 이상 실행되어 실행 타입이 READ 또는 LIST로 확인된 서비스이면 true (워크로드 기록 대상 판단용)
+     */
+    public boolean isReadService(String serviceName, String methodName, Long mUsiteNo) {
+        return isReadExecType(serviceKey(serviceName, methodName, mUsiteNo));
+    }
+
+    /** 한 번 이상 실행되어 실행 타입이 READ 또는 LIST로 확인된 서비스이면 true */
+    private boolean isReadExecType(String serviceKey) {
+        String execType = knownExecTypes.get(serviceKey);
+        return "READ".equalsIgnoreCase(execType) || "LIST".equalsIgnoreCase(execType);
+    }
+
+    private static String serviceKey(String serviceName, String methodName, Long mUsiteNo) {
+        return mUsiteNo + ":" + serviceName + "." + methodName;
+    }
+
+    /**
+     * 하나의 트랜잭션 안에서 M_SERVICE 조회부터 쿼리 실행까지 수행합니다.
+     * @param compositeStep COMPOSITE 서비스의 단계로 실행되는 경우 true (COMPOSITE 중첩 방지)
+     */
+    private List<Map<String, Object>> executeInTransaction(String serviceName, String methodName, Long mUsiteNo,
+                                                           Map<String, Object> queryParams, boolean compositeStep) {
         // 1. M_SERVICE 테이블에서 쿼리문 및 실행 타입(EXEC_TYPE) 조회
-        Map<String, Object> serviceInfo = mServiceMapper.findServiceQuery(mUsiteNo, serviceName, methodName);
+        Map<String, Object> serviceInfo = RequestTiming.time("lookup", () -> mServiceMapper.findServiceQuery(mUsiteNo, serviceName, methodName));
 
         if (serviceInfo == null) {
             log.error("Service not found for: serviceName={}, methodName={}, mUsiteNo={}", serviceName, methodName, mUsiteNo);
@@ -62,13 +209,76 @@ public class DynamicQueryService implements ApplicationContextAware {
         }
 
         String execType = (String) serviceInfo.get("EXEC_TYPE");
+        knownExecTypes.put(serviceKey(serviceName, methodName, mUsiteNo), String.valueOf(execType));
+        String queryStmt = readQueryStmt(serviceInfo);
+
+        // COMPOSITE 타입은 QUERY_STMT에 SQL 대신 단계(step) 목록 JSON을 가집니다.
+        if (COMPOSITE_EXEC_TYPE.equalsIgnoreCase(execType)) {
+            if (compositeStep) {
+                throw new IllegalArgumentException("COMPOSITE service cannot be used as a step: " + serviceName + ", " + methodName);
+            }
+            return executeComposite(serviceName, methodName, mUsiteNo, queryStmt, queryParams);
+        }
+
+        // 2~3. 동적 SQL 블록 처리 후 @PARAM@ 플레이스홀더를 바인드 변수로 치환
+        long renderStart = System.nanoTime();
+        RenderedQuery rendered = renderQuery(queryStmt, queryParams.keySet());
+        MapSqlParameterSource parameters = bindParameters(serviceName, methodName, rendered, queryParams);
+        String executableQuery = rendered.sql();
+
+        RequestTiming.record("render", System.nanoTime() - renderStart, -1);
+
+        // 4. 쿼리 실행 및 결과 반환
+        long startNanos = System.nanoTime();
+        try {
+            List<Map<String, Object>> result = executeStatement(serviceName, methodName, mUsiteNo, serviceInfo, execType, executableQuery, parameters, queryParams);
+            sqlLogSampler.logExecution(serviceName, methodName, execType, executableQuery, queryParams, System.nanoTime() - startNanos, result);
+            return result;
+        } catch (ResultTooLargeException | ServiceUnavailableException | InvalidParameterException e) {
+            // 결과 한도 초과와 잘못된 파라미터는 원인을 그대로 전달하여 클라이언트가 조건을 수정하거나 나중에 재시도할 수 있게 합니다.
+            throw e;
+        } catch (Exception e) {
+            log.error("Error executing dynamic query: serviceName={}, methodName={}, mUsiteNo={}, queryParams={}", serviceName, methodName, mUsiteNo, SqlLogSampler.redact(queryParams), e);
+            throw new RuntimeException("Error executing dynamic query: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 대량 적재(`BulkImportService`)에 사용할 INSERT 서비스의 쿼리를 준비합니다.
+     * 동적 SQL 블록은 전달된 파라미터 이름 기준으로 한 번만 처리되므로, 모든 행이 같은 SQL로 JDBC batch에 묶일 수 있습니다.
+     * @param paramNames 모든 행에 전달될 파라미터 이름 (CSV 컬럼과 고정 파라미터)
+     * @return 바인드 변수로 치환된 쿼리와 M_SERVICE의 TABLE_NAME
+     * @throws IllegalArgumentException 서비스가 없거나 INSERT 서비스가 아닐 때
+     */
+    public BulkStatement prepareBulkInsert(String serviceName, String methodName, Long mUsiteNo, Set<String> paramNames) {
+        Map<String, Object> serviceInfo = mServiceMapper.findServiceQuery(mUsiteNo, serviceName, methodName);
+        if (serviceInfo == null) {
+            throw new IllegalArgumentException("Service not found for: " + serviceName + ", " + methodName + ", " + mUsiteNo);
+        }
+        if (!"INSERT".equalsIgnoreCase((String) serviceInfo.get("EXEC_TYPE"))) {
+            throw new IllegalArgumentException("Bulk import requires an INSERT service: " + serviceName + ", " + methodName);
+        }
+        RenderedQuery rendered = renderQuery(readQueryStmt(serviceInfo), paramNames);
+        return new BulkStatement(serviceName, methodName, rendered, (String) serviceInfo.get("TABLE_NAME"));
+    }
+
+    /**
+     * 대량 적재할 행 하나의 바인드 변수를 만듭니다. 일반 실행과 같이 password 파라미터는 암호화하고 파라미터 스키마의 타입으로 바인딩합니다.
+     * @param row `QueryParamBinder.convert`로 변환된 행의 파라미터
+     */
+    public MapSqlParameterSource bindBulkRow(BulkStatement statement, Map<String, Object> row) {
+        return bindParameters(statement.serviceName(), statement.methodName(), statement.query(), row);
+    }
+
+    /** M_SERVICE의 QUERY_STMT를 문자열로 읽습니다. */
+    private static String readQueryStmt(Map<String, Object> serviceInfo) {
         Object queryStmtObject = serviceInfo.get("QUERY_STMT");
         String queryStmt;
 
-        // CLOB/NCLOB 타입을 String으로 변환
+        // CLOB/NCLOB 타입을 String으로 변환 (매퍼에서 변환하지 못한 경우를 위한 처리)
         if (queryStmtObject instanceof Clob) {
             try {
-                queryStmt = ((Clob) queryStmtObject).getSubString(1, (int) ((Clob) queryStmtObject).length());
+                queryStmt = LobStore.readFully((Clob) queryStmtObject);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to read CLOB data", e);
             }
@@ -79,14 +289,21 @@ public class DynamicQueryService implements ApplicationContextAware {
         if (queryStmt == null || queryStmt.trim().isEmpty()) {
             throw new IllegalArgumentException("Query statement is empty for the specified service.");
         }
+        return queryStmt;
+    }
 
-        // 2. 동적 SQL 블록 처리 (예: /* AND USER_NAME = @USER_NAME@ */)
-        Pattern dynamicBlockPattern = Pattern.compile("/\\*([\\s\\S]*?@[a-zA-Z0-9_]+@[\\s\\S]*?)\\*/");
-        Matcher matcher = dynamicBlockPattern.matcher(queryStmt);
+    /**
+     * 동적 SQL 블록을 처리하고 @PARAM@ 플레이스홀더를 :PARAM 형태로 치환합니다. (SQL Injection 방지)
+     * @param queryStmt M_SERVICE의 쿼리문
+     * @param paramNames 전달된 파라미터 이름. 이 중 하나라도 포함한 동적 블록(주석으로 감싼 조건절)만 남깁니다.
+     * @return 치환된 쿼리와 쿼리에 사용된 파라미터 이름
+     */
+    private static RenderedQuery renderQuery(String queryStmt, Set<String> paramNames) {
+        Matcher matcher = DYNAMIC_BLOCK_PATTERN.matcher(queryStmt);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
             String blockContent = matcher.group(1);
-            boolean paramExists = queryParams.keySet().stream()
+            boolean paramExists = paramNames.stream()
                     .anyMatch(key -> blockContent.contains("@" + key + "@"));
 
             if (paramExists) {
@@ -96,67 +313,574 @@ public class DynamicQueryService implements ApplicationContextAware {
             }
         }
         matcher.appendTail(sb);
-        String finalQuery = sb.toString();
 
-        // 3. @PARAM@ 플레이스홀더를 :PARAM 형태로 치환 (SQL Injection 방지)
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        Pattern placeholderPattern = Pattern.compile("@[a-zA-Z0-9_]+@");
-        Matcher placeholderMatcher = placeholderPattern.matcher(finalQuery);
+        Matcher placeholderMatcher = PLACEHOLDER_PATTERN.matcher(sb.toString());
         StringBuffer querySb = new StringBuffer();
-
+        Set<String> usedParams = new LinkedHashSet<>();
         while (placeholderMatcher.find()) {
             String placeholder = placeholderMatcher.group();
             String paramName = placeholder.substring(1, placeholder.length() - 1);
+            usedParams.add(paramName);
+            placeholderMatcher.appendReplacement(querySb, ":" + paramName);
+        }
+        placeholderMatcher.appendTail(querySb);
+        return new RenderedQuery(querySb.toString(), usedParams);
+    }
+
+    /** 쿼리에 사용된 파라미터의 값을 바인드 변수로 추가합니다. */
+    private MapSqlParameterSource bindParameters(String serviceName, String methodName, RenderedQuery rendered,
+                                                 Map<String, Object> queryParams) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        for (String paramName : rendered.paramNames()) {
             Object paramValue = queryParams.get(paramName);
-            
+
             if (paramName.toLowerCase().contains("password")) {
                 PasswordEncoder passwordEncoder = applicationContext.getBean(PasswordEncoder.class);
                 paramValue = (paramValue != null) ? passwordEncoder.encode(paramValue.toString()) : null;
             }
-            parameters.addValue(paramName, paramValue);
-            placeholderMatcher.appendReplacement(querySb, ":" + paramName);
+            queryParamBinder.addValue(parameters, serviceName, methodName, paramName, paramValue);
         }
-        placeholderMatcher.appendTail(querySb);
-        String executableQuery = querySb.toString();
+        return parameters;
+    }
 
-        // 4. 쿼리 실행 및 결과 반환
-        log.info("Executing dynamic query ({}): {}", execType, executableQuery);
+    /** 현재 요청의 로그인 사용자 ID를 반환합니다. (인증 정보가 없으면 null) */
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
 
-        try {
-            if ("READ".equalsIgnoreCase(execType)) {
-                return namedParameterJdbcTemplate.queryForList(executableQuery, parameters);
-            } else if ("LIST".equalsIgnoreCase(execType)) {
-                int page = Integer.parseInt(queryParams.getOrDefault("_page", "1").toString());
-                int size = Integer.parseInt(queryParams.getOrDefault("_size", "20").toString());
-                String sort = (String) queryParams.getOrDefault("_sort", "");
+    /**
+     * 실행 타입(EXEC_TYPE)에 따라 치환이 끝난 쿼리를 실행합니다.
+     * @param executableQuery :PARAM 형태로 치환된 쿼리문
+     * @param parameters 바인드 변수
+     * @return 실행 결과 (READ: 행 목록, LIST: data/totalCount, DML: affectedRows)
+     */
+    private List<Map<String, Object>> executeStatement(String serviceName, String methodName, Long mUsiteNo, Map<String, Object> serviceInfo,
+                                                       String execType, String executableQuery, MapSqlParameterSource parameters,
+                                                       Map<String, Object> queryParams) {
+        // 변경분 조회: 변경 추적 컬럼이 설정된 서비스에 워터마크(_since)가 전달되면 그 이후 변경된 행만 조회합니다.
+        DeltaOptions delta = findDeltaOptions(serviceName, methodName);
+        Object since = queryParams.get(SINCE_PARAM);
+        if (delta != null && since != null && !since.toString().isBlank()
+                && ("READ".equalsIgnoreCase(execType) || "LIST".equalsIgnoreCase(execType))) {
+            return executeDelta(mUsiteNo, executableQuery, parameters, delta, since.toString());
+        }
+
+        if ("READ".equalsIgnoreCase(execType)) {
+            String selectList = resolveProjection(queryParams, mUsiteNo, executableQuery, parameters);
+            if (selectList != null) {
+                executableQuery = "SELECT " + selectList + " FROM (" + executableQuery + ")";
+            }
+            long queryStart = System.nanoTime();
+            // 조건이 빠진 조회가 수백만 건을 메모리에 올리지 않도록, 읽는 도중 행 수와 크기가 한도를 넘으면 중단합니다.
+            List<Map<String, Object>> rows = resultBudget.query(jdbc(mUsiteNo), executableQuery, parameters, lobStore.rowMapper(mUsiteNo),
+                    serviceName, methodName);
+            RequestTiming.record("query", System.nanoTime() - queryStart, rows.size());
+            return rows;
+        } else if ("LIST".equalsIgnoreCase(execType)) {
+            int page = pageParam(queryParams);
+            int size = sizeParam(queryParams);
+            String sort = normalizeSort(queryParams.get("_sort"));
+            String orderByClause = sort.isEmpty() ? "" : " ORDER BY " + sort;
+
+            // 결과 스냅샷 요청(_snapshot)이면 전체 결과를 한 번만 조회하여 파일로 저장하고, 첫 페이지를 그 파일에서 반환합니다.
+            Object snapshotParam = queryParams.get(RESULT_SNAPSHOT_PARAM);
+            if (snapshotParam != null && !snapshotParam.toString().isBlank()) {
+                Optional<List<Map<String, Object>>> snapshotResult = createResultSnapshot(serviceName, methodName, mUsiteNo,
+                        executableQuery, orderByClause, sort, parameters, queryParams, page, size);
+                if (snapshotResult.isPresent()) {
+                    return snapshotResult.get();
+                }
+                // 결과가 너무 커서 저장하지 못했으면 일반 페이징 조회로 처리합니다.
+            }
  
-                String orderByClause = "";
-                if (sort != null && !sort.trim().isEmpty()) {
-                    if (!sort.matches("^[a-zA-Z0-9_.,\\sASCascDESCdesc]+$")) {
-                        throw new IllegalArgumentException("Invalid sort parameter.");
+            // 변경분 조회가 설정된 서비스는 현재 워터마크(변경 컬럼의 최대값)를, 합계 컬럼이 설정된 서비스는 전체 행의 집계값을
+            // 전체 건수와 같은 쿼리에서 한 번에 구합니다.
+            List<String[]> aggregateColumns = findAggregateColumns(serviceName, methodName);
+            Integer totalCount;
+            Object watermark = null;
+            Map<String, Map<String, Object>> aggregates = null;
+            long countStart = System.nanoTime();
+            if (delta != null || !aggregateColumns.isEmpty()) {
+                StringBuilder countQuery = new StringBuilder("SELECT COUNT(*) AS TOTAL_COUNT");
+                if (delta != null) {
+                    countQuery.append(", MAX(").append(validateColumn(delta.getChangeColumn())).append(") AS WATERMARK");
+                }
+                for (int i = 0; i < aggregateColumns.size(); i++) {
+                    String[] aggregate = aggregateColumns.get(i);
+                    countQuery.append(", ").append(aggregate[1]).append("(").append(aggregate[0]).append(") AS AGG_").append(i);
+                }
+                countQuery.append(" FROM (").append(executableQuery).append(")");
+                Map<String, Object> countResult = jdbc(mUsiteNo).queryForMap(countQuery.toString(), parameters);
+                totalCount = ((Number) countResult.get("TOTAL_COUNT")).intValue();
+                if (delta != null) {
+                    watermark = toWatermark(countResult.get("WATERMARK"));
+                }
+                if (!aggregateColumns.isEmpty()) {
+                    aggregates = new LinkedHashMap<>();
+                    for (int i = 0; i < aggregateColumns.size(); i++) {
+                        String[] aggregate = aggregateColumns.get(i);
+                        aggregates.computeIfAbsent(aggregate[0], column -> new LinkedHashMap<>())
+                                .put(aggregate[1], countResult.get("AGG_" + i));
                     }
-                    orderByClause = " ORDER BY " + sort;
                 }
- 
+            } else {
                 String countQuery = "SELECT COUNT(*) FROM (" + executableQuery + ")";
-                Integer totalCount = namedParameterJdbcTemplate.queryForObject(countQuery, parameters, Integer.class);
+                totalCount = jdbc(mUsiteNo).queryForObject(countQuery, parameters, Integer.class);
+            }
+            RequestTiming.record("count", System.nanoTime() - countStart, -1);
  
-                int startRow = (page - 1) * size;
-                int endRow = page * size;
-                String pagingQuery = "SELECT * FROM (SELECT a.*, ROWNUM rnum FROM (" + executableQuery + orderByClause + ") a WHERE ROWNUM <= " + endRow + ") WHERE rnum > " + startRow;
-                List<Map<String, Object>> data = namedParameterJdbcTemplate.queryForList(pagingQuery, parameters);
+            // 페이지 범위는 바인드 변수로 전달하여, 페이지 번호나 크기가 바뀌어도 SQL 문자열이 같도록 합니다.
+            // (Oracle 하드 파싱과 공유 풀 낭비를 방지하고, 드라이버의 문장 캐시를 재사용할 수 있게 합니다.)
+            int startRow = (page - 1) * size;
+            int endRow = page * size;
+            parameters.addValue(START_ROW_PARAM, startRow);
+            parameters.addValue(END_ROW_PARAM, endRow);
+            String selectList = resolveProjection(queryParams, mUsiteNo, executableQuery, parameters);
+            String pagingQuery = "SELECT " + (selectList != null ? selectList : "*") + " FROM (SELECT a.*, ROWNUM rnum FROM (" + executableQuery + orderByClause + ") a WHERE ROWNUM <= :" + END_ROW_PARAM + ") WHERE rnum > :" + START_ROW_PARAM;
+            // 큰 CLOB/BLOB 컬럼은 임시 파일로 옮기고 핸들만 반환합니다.
+            long pageStart = System.nanoTime();
+            List<Map<String, Object>> data = resultBudget.query(jdbc(mUsiteNo), pagingQuery, parameters, lobStore.rowMapper(mUsiteNo),
+                    serviceName, methodName);
+            RequestTiming.record("page", System.nanoTime() - pageStart, data.size());
  
-                return List.of(Map.of("data", data, "totalCount", totalCount));
-            } else if ("INSERT".equalsIgnoreCase(execType) || "UPDATE".equalsIgnoreCase(execType) || "DELETE".equalsIgnoreCase(execType)) {
-                int affectedRows = namedParameterJdbcTemplate.update(executableQuery, parameters);
-                return List.of(Map.of("affectedRows", affectedRows));
+            if (delta != null || aggregates != null) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("data", data);
+                result.put("totalCount", totalCount);
+                if (delta != null) {
+                    result.put("watermark", watermark);
+                }
+                if (aggregates != null) {
+                    result.put("aggregates", aggregates);
+                }
+                return List.of(result);
+            }
+            return List.of(Map.of("data", data, "totalCount", totalCount));
+        } else if ("INSERT".equalsIgnoreCase(execType) || "UPDATE".equalsIgnoreCase(execType) || "DELETE".equalsIgnoreCase(execType)) {
+            // `_keyColumn`이 지정되면 해당 컬럼의 생성된 값(시퀀스/IDENTITY)을 함께 반환합니다.
+            Object keyColumn = queryParams.get(KEY_COLUMN_PARAM);
+            Map<String, Object> generatedKeys = null;
+            int affectedRows;
+            long dmlStart = System.nanoTime();
+            if (keyColumn != null && !keyColumn.toString().isBlank()) {
+                String[] keyColumnNames = Arrays.stream(keyColumn.toString().split(","))
+                        .map(String::trim).map(String::toUpperCase).toArray(String[]::new);
+                for (String keyColumnName : keyColumnNames) {
+                    if (!COLUMN_NAME_PATTERN.matcher(keyColumnName).matches()) {
+                        throw new IllegalArgumentException("Invalid key column: " + keyColumnName);
+                    }
+                }
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                affectedRows = jdbc(mUsiteNo).update(executableQuery, parameters, keyHolder, keyColumnNames);
+                generatedKeys = keyHolder.getKeyList().isEmpty() ? Map.of() : keyHolder.getKeyList().get(0);
             } else {
-                log.warn("Unsupported EXEC_TYPE: {}", execType);
-                throw new IllegalArgumentException("Unsupported EXEC_TYPE: " + execType);
+                affectedRows = jdbc(mUsiteNo).update(executableQuery, parameters);
             }
-        } catch (Exception e) {
-            log.error("Error executing dynamic query: serviceName={}, methodName={}, mUsiteNo={}, queryParams={}", serviceName, methodName, mUsiteNo, queryParams, e);
-            throw new RuntimeException("Error executing dynamic query: " + e.getMessage(), e);
+            RequestTiming.record("dml", System.nanoTime() - dmlStart, affectedRows);
+            // 캐시 등 조회 결과를 보관하는 컴포넌트가 커밋 후 데이터를 무효화할 수 있도록 변경 이벤트를 발행합니다.
+            applicationContext.publishEvent(new DataChangedEvent(serviceName, methodName, (String) serviceInfo.get("TABLE_NAME"), mUsiteNo));
+            // 감사 로그는 커밋 후 대기열에 쌓였다가 별도로 일괄 저장되므로 DML 응답 시간에 영향을 주지 않습니다.
+            applicationContext.publishEvent(new AuditEvent(mUsiteNo, currentUserId(), serviceName, methodName,
+                    execType.toUpperCase(), new LinkedHashMap<>(queryParams), affectedRows, Instant.now()));
+            if (generatedKeys != null) {
+                Map<String, Object> upperCaseKeys = new LinkedHashMap<>();
+                generatedKeys.forEach((key, value) -> upperCaseKeys.put(key.toUpperCase(), value));
+                return List.of(Map.of("affectedRows", affectedRows, "generatedKeys", upperCaseKeys));
+            }
+            return List.of(Map.of("affectedRows", affectedRows));
+        } else {
+            log.warn("Unsupported EXEC_TYPE: {}", execType);
+            throw new IllegalArgumentException("Unsupported EXEC_TYPE: " + execType);
         }
     }
+
+    /**
+     * COMPOSITE 서비스의 단계들을 순서대로 현재 트랜잭션 안에서 실행합니다. 한 단계라도 실패하면 전체가 롤백됩니다.
+     * QUERY_STMT 형식 (JSON 배열):
+     * <pre>
+     * [
+     *   {"method": "HEADER_INSERT", "keyColumn": "ORDER_NO"},
+     *   {"method": "DETAIL_INSERT", "forEach": "DETAILS"},
+     *   {"service": "STOCK", "method": "STOCK_UPDATE", "forEach": "DETAILS"}
+     * ]
+     * </pre>
+     * - `service`: 생략하면 COMPOSITE 서비스와 같은 서비스명을 사용합니다.
+     * - `keyColumn`: INSERT 단계에서 생성된 키 컬럼. 생성된 값은 같은 이름의 파라미터로 다음 단계에 전달됩니다.
+     * - `forEach`: 행 목록(List&lt;Map&gt;)이 담긴 파라미터명. 행마다 단계를 실행하며, 행의 값이 공통 파라미터보다 우선합니다. 파라미터가 없거나 목록이 아니면 400으로 거절합니다. (빈 목록은 허용)
+     * READ 단계의 첫 행 컬럼 값도 다음 단계의 파라미터로 전달됩니다.
+     * @return `affectedRows`(전체 영향 행 수), `steps`(단계별 결과), `outputs`(단계에서 생성/조회된 값)
+     */
+    private List<Map<String, Object>> executeComposite(String serviceName, String methodName, Long mUsiteNo,
+                                                       String queryStmt, Map<String, Object> queryParams) {
+        JsonNode steps;
+        try {
+            steps = objectMapper.readTree(queryStmt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid COMPOSITE definition for: " + serviceName + ", " + methodName, e);
+        }
+        if (steps == null || !steps.isArray() || steps.isEmpty()) {
+            throw new IllegalArgumentException("COMPOSITE definition must be a non-empty array: " + serviceName + ", " + methodName);
+        }
+
+        // 단계 사이에 전달되는 값 (생성된 키, READ 결과)
+        Map<String, Object> outputs = new LinkedHashMap<>();
+        List<Map<String, Object>> stepResults = new ArrayList<>();
+        int totalAffectedRows = 0;
+
+        for (JsonNode step : steps) {
+            String stepService = step.path("service").asText(serviceName);
+            String stepMethod = step.path("method").asText(null);
+            if (stepMethod == null || stepMethod.isBlank()) {
+                throw new IllegalArgumentException("COMPOSITE step requires 'method': " + serviceName + ", " + methodName);
+            }
+            String keyColumn = step.path("keyColumn").asText(null);
+            String forEach = step.path("forEach").asText(null);
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (forEach != null) {
+                // 상세 행 목록이 빠지면 마스터만 저장되고 커밋되므로, 없거나 목록이 아니면 거절합니다. (빈 목록은 허용)
+                if (!(queryParams.get(forEach) instanceof List<?> list)) {
+                    throw new InvalidParameterException(forEach, "'" + forEach + "' is required and must be a list of objects.");
+                }
+                for (Object row : list) {
+                    if (!(row instanceof Map<?, ?> rowMap)) {
+                        throw new InvalidParameterException(forEach, "'" + forEach + "' must be a list of objects.");
+                    }
+                    Map<String, Object> rowParams = new LinkedHashMap<>();
+                    rowMap.forEach((key, value) -> rowParams.put(String.valueOf(key), value));
+                    rows.add(rowParams);
+                }
+            } else {
+                rows.add(Map.of());
+            }
+
+            int stepAffectedRows = 0;
+            for (Map<String, Object> row : rows) {
+                Map<String, Object> stepParams = new LinkedHashMap<>(queryParams);
+                stepParams.putAll(outputs);
+                stepParams.putAll(row);
+                stepParams.remove(KEY_COLUMN_PARAM);
+                if (keyColumn != null) {
+                    stepParams.put(KEY_COLUMN_PARAM, keyColumn);
+                }
+
+                List<Map<String, Object>> result = executeInTransaction(stepService, stepMethod, mUsiteNo, stepParams, true);
+                if (result.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> first = result.get(0);
+                if (first.get("affectedRows") instanceof Number affected) {
+                    stepAffectedRows += affected.intValue();
+                    if (first.get("generatedKeys") instanceof Map<?, ?> keys) {
+                        keys.forEach((key, value) -> outputs.put(String.valueOf(key), value));
+                    }
+                } else if (!first.containsKey("data")) {
+                    outputs.putAll(first);
+                }
+            }
+            totalAffectedRows += stepAffectedRows;
+
+            Map<String, Object> stepResult = new LinkedHashMap<>();
+            stepResult.put("service", stepService);
+            stepResult.put("method", stepMethod);
+            stepResult.put("executions", rows.size());
+            stepResult.put("affectedRows", stepAffectedRows);
+            stepResults.add(stepResult);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("affectedRows", totalAffectedRows);
+        result.put("steps", stepResults);
+        result.put("outputs", outputs);
+        return List.of(result);
+    }
+
+    /**
+     * 정렬 조건 없이 전체 결과를 조회하여 결과 스냅샷 파일에 한 행씩 기록합니다.
+     * @return 첫 페이지 응답 (`snapshotId` 포함). 결과가 스냅샷 한도를 넘으면 빈 값
+     */
+    private Optional<List<Map<String, Object>>> createResultSnapshot(String serviceName, String methodName, Long mUsiteNo,
+                                                                     String executableQuery, String orderByClause, String sort,
+                                                                     MapSqlParameterSource parameters, Map<String, Object> queryParams,
+                                                                     int page, int size) {
+        String serviceKey = serviceKey(serviceName, methodName, mUsiteNo);
+        ResultSnapshotStore.SnapshotWriter writer = resultSnapshotStore.newWriter(serviceKey, sort);
+        // 한도보다 한 행 더 읽어 한도 초과 여부를 판단합니다.
+        parameters.addValue(END_ROW_PARAM, resultSnapshotStore.getMaxRows() + 1);
+        String selectList = resolveProjection(queryParams, mUsiteNo, executableQuery, parameters);
+        String snapshotQuery = "SELECT " + (selectList != null ? selectList : "*") + " FROM (" + executableQuery + orderByClause
+                + ") WHERE ROWNUM <= :" + END_ROW_PARAM;
+        long snapshotStart = System.nanoTime();
+        try {
+            jdbc(mUsiteNo).query(snapshotQuery, parameters, writer);
+        } catch (RuntimeException e) {
+            writer.discard();
+            throw e;
+        }
+        RequestTiming.record("snapshot", System.nanoTime() - snapshotStart, -1);
+        return writer.finish().flatMap(snapshotId -> resultSnapshotStore.page(snapshotId, serviceKey, page, size, sort));
+    }
+
+    private static int pageParam(Map<String, Object> queryParams) {
+        return Integer.parseInt(queryParams.getOrDefault("_page", "1").toString());
+    }
+
+    private static int sizeParam(Map<String, Object> queryParams) {
+        return Integer.parseInt(queryParams.getOrDefault("_size", "20").toString());
+    }
+
+    /**
+     * 정렬 조건을 검증하고, 같은 정렬 조건이 항상 같은 SQL 문자열이 되도록 공백과 대소문자를 정규화합니다.
+     * @return 정규화된 정렬 조건 (ORDER BY 뒤에 오는 내용), 없으면 빈 문자열
+     */
+    private static String normalizeSort(Object sortParam) {
+        String sort = sortParam != null ? sortParam.toString() : "";
+        if (sort.trim().isEmpty()) {
+            return "";
+        }
+        if (!sort.matches("^[a-zA-Z0-9_.,\\sASCascDESCdesc]+$")) {
+            throw new IllegalArgumentException("Invalid sort parameter.");
+        }
+        return sort.trim().replaceAll("\\s+", " ").replaceAll("\\s*,\\s*", ", ").toUpperCase();
+    }
+
+    /**
+     * 워터마크 이후 변경된 행만 조회합니다. (`monarch.services[n].delta` 설정)
+     * 페이징과 정렬 없이 변경 컬럼 순으로 최대 maxRows 건을 반환하며, 이를 넘으면 전체 다시 조회하도록 `reset`을 반환합니다.
+     * 논리 삭제 컬럼이 설정되어 있으면 삭제된 행은 `data` 대신 `deleted`에 키 값만 담습니다.
+     * @param since 클라이언트가 마지막으로 받은 워터마크 (TIMESTAMP는 epoch ms)
+     * @return `delta`(true), `data`(변경된 행), `deleted`(삭제된 행의 키), `watermark`(다음 요청에 사용할 워터마크), `reset`
+     * @throws InvalidParameterException `_since`가 숫자가 아닐 때
+     */
+    private List<Map<String, Object>> executeDelta(Long mUsiteNo, String executableQuery, MapSqlParameterSource parameters,
+                                                   DeltaOptions delta, String since) {
+        String changeColumn = validateColumn(delta.getChangeColumn());
+        String keyColumn = validateColumn(delta.getKeyColumn());
+        String deletedColumn = delta.getDeletedColumn() != null ? validateColumn(delta.getDeletedColumn()) : null;
+        boolean numeric = "NUMBER".equalsIgnoreCase(delta.getChangeType());
+
+        Object sinceValue;
+        Object watermark;
+        try {
+            if (numeric) {
+                sinceValue = new BigDecimal(since.trim());
+                watermark = sinceValue;
+            } else {
+                long sinceMillis = Long.parseLong(since.trim());
+                sinceValue = new Timestamp(sinceMillis - delta.getOverlap().toMillis());
+                watermark = sinceMillis;
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterException(SINCE_PARAM, "Invalid watermark for " + SINCE_PARAM + ": " + since);
+        }
+        parameters.addValue(SINCE_BIND_PARAM, sinceValue);
+        parameters.addValue(END_ROW_PARAM, delta.getMaxRows() + 1);
+        String deltaQuery = "SELECT * FROM (SELECT * FROM (" + executableQuery + ") WHERE " + changeColumn + " > :" + SINCE_BIND_PARAM
+                + " ORDER BY " + changeColumn + ") WHERE ROWNUM <= :" + END_ROW_PARAM;
+        long deltaStart = System.nanoTime();
+        List<Map<String, Object>> rows = jdbc(mUsiteNo).query(deltaQuery, parameters, lobStore.rowMapper(mUsiteNo));
+        RequestTiming.record("delta", System.nanoTime() - deltaStart, rows.size());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("delta", true);
+        if (rows.size() > delta.getMaxRows()) {
+            // 변경이 너무 많으면 변경분 대신 전체를 다시 조회하는 편이 낫습니다.
+            result.put("reset", true);
+            result.put("data", List.of());
+            result.put("deleted", List.of());
+            result.put("watermark", watermark);
+            return List.of(result);
+        }
+
+        List<Map<String, Object>> changed = new ArrayList<>();
+        List<Object> deleted = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Object rowWatermark = toWatermark(row.get(changeColumn));
+            if (rowWatermark != null && compareWatermark(rowWatermark, watermark) > 0) {
+                watermark = rowWatermark;
+            }
+            if (deletedColumn != null && delta.getDeletedValue() != null
+                    && delta.getDeletedValue().equals(String.valueOf(row.get(deletedColumn)))) {
+                deleted.add(row.get(keyColumn));
+            } else {
+                changed.add(row);
+            }
+        }
+        result.put("reset", false);
+        result.put("data", changed);
+        result.put("deleted", deleted);
+        result.put("watermark", watermark);
+        return List.of(result);
+    }
+
+    /** 회원사에 지정된 DB(shard)의 JdbcTemplate. 호출 스레드의 트랜잭션에 참여합니다. */
+    private NamedParameterJdbcTemplate jdbc(Long mUsiteNo) {
+        return tenantDataSourceRouter.forTenant(mUsiteNo).jdbcTemplate();
+    }
+
+    private DeltaOptions findDeltaOptions(String serviceName, String methodName) {
+        return serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getDelta)
+                .orElse(null);
+    }
+
+    /**
+     * 서비스에 설정된 합계 컬럼을 (컬럼명, 집계 함수) 쌍의 목록으로 반환합니다.
+     * 컬럼명과 함수명은 SQL에 직접 들어가므로 식별자 형식과 허용된 함수인지 확인합니다.
+     */
+    private List<String[]> findAggregateColumns(String serviceName, String methodName) {
+        Map<String, List<String>> configured = serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getAggregates)
+                .orElse(Map.of());
+        List<String[]> aggregateColumns = new ArrayList<>();
+        configured.forEach((column, functions) -> {
+            String validColumn = validateColumn(column);
+            for (String function : functions) {
+                String validFunction = function.trim().toUpperCase();
+                if (!AGGREGATE_FUNCTIONS.contains(validFunction)) {
+                    throw new IllegalArgumentException("Unsupported aggregate function: " + function);
+                }
+                aggregateColumns.add(new String[]{validColumn, validFunction});
+            }
+        });
+        return aggregateColumns;
+    }
+
+    /** 설정된 컬럼명이 따옴표 없는 식별자인지 확인하고 대문자로 반환합니다. */
+    private static String validateColumn(String column) {
+        if (column == null || !COLUMN_NAME_PATTERN.matcher(column.trim()).matches()) {
+            throw new IllegalArgumentException("Invalid column: " + column);
+        }
+        return column.trim().toUpperCase();
+    }
+
+    /** 변경 컬럼 값을 워터마크로 변환합니다. 날짜/시각은 epoch ms, 숫자는 그대로 반환합니다. */
+    private static Object toWatermark(Object value) {
+        if (value instanceof java.util.Date date) {
+            return date.getTime();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return Timestamp.valueOf(localDateTime).getTime();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant().toEpochMilli();
+        }
+        return value;
+    }
+
+    private static int compareWatermark(Object a, Object b) {
+        if (a instanceof Number na && b instanceof Number nb) {
+            return new BigDecimal(na.toString()).compareTo(new BigDecimal(nb.toString()));
+        }
+        return 0;
+    }
+
+    /**
+     * READ/LIST 결과에서 실제로 반환할 컬럼 목록(SELECT 절)을 결정합니다.
+     * - `_structure`: 화면 구성(M_STRUCTURE)의 표시 컬럼(colModel, keyName) 중 쿼리 결과에 있는 컬럼만 조회합니다.
+     *   (계산 컬럼 등 쿼리에 없는 화면 필드는 제외하며, 남는 컬럼이 없으면 전체 컬럼을 반환합니다)
+     * - `_columns`: 쉼표로 구분한 컬럼 목록. `_structure`와 함께 전달되면 화면 구성의 컬럼 중에서만 허용됩니다.
+     * @param queryParams 요청 파라미터
+     * @param mUsiteNo 회원사 번호
+     * @param executableQuery 프로젝션을 적용할 쿼리 (실제 결과 컬럼 확인용)
+     * @param parameters 쿼리의 바인드 변수
+     * @return SELECT 절에 사용할 컬럼 목록 문자열. 프로젝션을 적용하지 않으면 null
+     * @throws InvalidParameterException `_columns`에 형식이 잘못되었거나, 화면 구성에서 허용되지 않거나, 쿼리 결과에 없는 컬럼이 있을 때
+     */
+    private String resolveProjection(Map<String, Object> queryParams, Long mUsiteNo, String executableQuery,
+                                     MapSqlParameterSource parameters) {
+        Object structureName = queryParams.get("_structure");
+        Object columnsParam = queryParams.get("_columns");
+
+        boolean hasStructure = structureName != null && !structureName.toString().isBlank();
+        boolean hasColumns = columnsParam != null && !columnsParam.toString().isBlank();
+        if (!hasStructure && !hasColumns) {
+            return null;
+        }
+        Set<String> queryColumnNames = getQueryColumns(mUsiteNo, executableQuery, parameters);
+
+        List<String> allowedColumns = null;
+        if (hasStructure) {
+            allowedColumns = dynamicGridStructure.getVisibleColumns(structureName.toString(), mUsiteNo).stream()
+                    .filter(queryColumnNames::contains)
+                    .toList();
+            if (allowedColumns.isEmpty()) {
+                // 화면 구성 정보를 해석할 수 없거나 쿼리 결과와 겹치는 컬럼이 없으면 기존처럼 전체 컬럼을 반환합니다.
+                return null;
+            }
+        }
+
+        List<String> columns;
+        if (hasColumns) {
+            columns = new ArrayList<>();
+            for (String column : Arrays.asList(columnsParam.toString().split(","))) {
+                String name = column.trim().toUpperCase();
+                if (!COLUMN_NAME_PATTERN.matcher(name).matches()) {
+                    throw new InvalidParameterException("_columns", "Invalid column name in _columns: " + column);
+                }
+                if (allowedColumns != null && !allowedColumns.contains(name)) {
+                    throw new InvalidParameterException("_columns", "Column not allowed by structure: " + column);
+                }
+                if (!queryColumnNames.contains(name)) {
+                    throw new InvalidParameterException("_columns", "Column not found in query result: " + column);
+                }
+                if (!columns.contains(name)) {
+                    columns.add(name);
+                }
+            }
+        } else {
+            columns = allowedColumns;
+        }
+
+        for (String column : columns) {
+            if (!COLUMN_NAME_PATTERN.matcher(column).matches()) {
+                throw new IllegalArgumentException("Invalid column name in structure: " + column);
+            }
+        }
+        return columns.isEmpty() ? null : String.join(", ", columns);
+    }
+
+    /**
+     * 쿼리의 실제 결과 컬럼명을 반환합니다. 처음 사용하는 쿼리는 행을 읽지 않는 쿼리(`WHERE 1 = 0`)로 메타데이터만 조회합니다.
+     * M_SERVICE의 쿼리가 바뀌면 쿼리문도 바뀌므로 다른 항목으로 캐시됩니다.
+     */
+    private Set<String> getQueryColumns(Long mUsiteNo, String executableQuery, MapSqlParameterSource parameters) {
+        String cacheKey = mUsiteNo + "\n" + executableQuery;
+        Set<String> cached = queryColumns.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long metadataStart = System.nanoTime();
+        Set<String> columns = jdbc(mUsiteNo).query("SELECT * FROM (" + executableQuery + ") WHERE 1 = 0", parameters, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            Set<String> names = new LinkedHashSet<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                names.add(metaData.getColumnLabel(i).toUpperCase());
+            }
+            return Set.copyOf(names);
+        });
+        RequestTiming.record("metadata", System.nanoTime() - metadataStart, -1);
+        if (queryColumns.size() >= QUERY_COLUMNS_CACHE_SIZE) {
+            queryColumns.clear();
+        }
+        queryColumns.put(cacheKey, columns);
+        return columns;
+    }
+
+    /**
+     * 바인드 변수로 치환된 쿼리.
+     * @param sql :PARAM 형태로 치환된 쿼리문
+     * @param paramNames 쿼리에 사용된 파라미터 이름
+     */
+    public record RenderedQuery(String sql, Set<String> paramNames) {
+    }
+
+    /**
+     * 대량 적재용으로 준비된 INSERT 쿼리.
+     * @param query 바인드 변수로 치환된 쿼리
+     * @param tableName M_SERVICE의 TABLE_NAME (변경 이벤트에 사용)
+     */
+    public record BulkStatement(String serviceName, String methodName, RenderedQuery query, String tableName) {
+    }
 }
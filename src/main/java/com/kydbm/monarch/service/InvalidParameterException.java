@@ -0,0 +1,20 @@
+package com.kydbm.monarch.service;
+
+/**
+ * 요청 파라미터가 서비스에 설정된 파라미터 스키마(타입, 형식, 필수 여부)에 맞지 않을 때 발생하는 예외.
+ * 쿼리를 실행하지 않고 400(Bad Request)으로 응답합니다.
+ */
+public class InvalidParameterException extends IllegalArgumentException {
+
+    /** 검증에 실패한 파라미터명 */
+    private final String parameterName;
+
+    public InvalidParameterException(String parameterName, String message) {
+        super(message);
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+}
@@ -0,0 +1,298 @@
+package com.kydbm.monarch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kydbm.monarch.mapper.MServiceMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 위젯의 주기적 재조회(polling)를 대신하는 Server-Sent Events 구독 서비스.
+ * 같은 (회원사, 서비스, 메소드, 파라미터) 조합을 구독하는 모든 브라우저 탭이 하나의 채널을 공유하며,
+ * 채널마다 한 번만 쿼리를 실행하여 결과가 바뀌었을 때 모든 구독자에게 전송합니다.
+ * 채널은 `monarch.push.refresh-interval` 주기로, 또는 같은 테이블을 변경하는 DML 서비스가 커밋되면 다시 조회됩니다.
+ * 구독은 실행 타입이 READ/LIST인 서비스만 허용하며, 재조회와 전송은 채널별로 전용 스레드 풀에서 실행되어
+ * 느린 쿼리나 느린 구독자가 다른 채널을 지연시키지 않습니다.
+ */
+@Service
+public class LiveQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveQueryService.class);
+    private static final String DATA_EVENT = "data";
+    /** 구독할 수 있는 실행 타입 (조회 서비스만 주기적으로 다시 실행할 수 있습니다) */
+    private static final Set<String> SUBSCRIBABLE_EXEC_TYPES = Set.of("READ", "LIST");
+
+    private final DynamicQueryService dynamicQueryService;
+    private final AggregateSnapshotService aggregateSnapshotService;
+    private final MServiceMapper mServiceMapper;
+    private final ObjectMapper objectMapper;
+    private final long refreshIntervalMillis;
+    private final long emitterTimeoutMillis;
+    private final int maxSubscribers;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /** 구독 채널. 키: "회원사번호:서비스명.메소드명?정렬된 파라미터" */
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public LiveQueryService(DynamicQueryService dynamicQueryService, AggregateSnapshotService aggregateSnapshotService,
+                            MServiceMapper mServiceMapper, ObjectMapper objectMapper,
+                            @Value("${monarch.push.refresh-interval:30s}") Duration refreshInterval,
+                            @Value("${monarch.push.emitter-timeout:30m}") Duration emitterTimeout,
+                            @Value("${monarch.push.max-subscribers:1000}") int maxSubscribers,
+                            @Value("${monarch.push.refresh-threads:4}") int refreshThreads) {
+        this.dynamicQueryService = dynamicQueryService;
+        this.aggregateSnapshotService = aggregateSnapshotService;
+        this.mServiceMapper = mServiceMapper;
+        this.objectMapper = objectMapper;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        int threads = Math.max(1, refreshThreads);
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("live-query-"));
+    }
+
+    /**
+     * 서비스 결과를 구독합니다. 구독 즉시 현재 결과를 한 번 전송하고, 이후에는 결과가 바뀔 때마다 전송합니다.
+     * @param serviceName 서비스명
+     * @param methodName 메소드명
+     * @param usiteNo 회원사 번호
+     * @param params 쿼리 파라미터 (채널 키에 포함됩니다)
+     * @return 구독 연결 (SSE)
+     * @throws ServiceUnavailableException 최대 구독 수를 초과했을 때
+     * @throws InvalidParameterException 실행 타입이 READ/LIST가 아닌 서비스일 때
+     */
+    public SseEmitter subscribe(String serviceName, String methodName, Long usiteNo, Map<String, Object> params) {
+        String key = channelKey(serviceName, methodName, usiteNo, params);
+        // 서비스 정보는 맵 연산 밖에서 조회합니다. (compute 안에서 DB를 조회하지 않도록)
+        Channel current = channels.get(key);
+        String tableName = current != null ? current.tableName : resolveTableName(serviceName, methodName, usiteNo);
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live subscriptions", refreshIntervalMillis / 1000);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Channel channel;
+        try {
+            channel = channels.compute(key, (k, existing) -> {
+                Channel target = existing != null ? existing : new Channel(serviceName, methodName, usiteNo, params, tableName);
+                target.emitters.add(emitter);
+                return target;
+            });
+        } catch (RuntimeException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+
+        Runnable unsubscribe = () -> removeEmitter(key, channel, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // 이미 조회된 결과가 있으면 그대로 보내고, 없으면 이 요청에서 처음 조회합니다.
+        String payload = channel.lastPayload != null ? channel.lastPayload : refresh(key, channel);
+        if (payload == null) {
+            emitter.completeWithError(new IllegalStateException("Failed to load live query: " + key));
+        } else {
+            send(key, channel, emitter, payload);
+        }
+        return emitter;
+    }
+
+    /**
+     * 채널별 현황(구독자 수, 마지막 조회 시각)을 반환합니다. (관리자 화면용)
+     */
+    public List<Map<String, Object>> getChannelStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        channels.forEach((key, channel) -> {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("key", key);
+            status.put("subscribers", channel.emitters.size());
+            status.put("refreshedAt", channel.refreshedAt);
+            status.put("refreshCount", channel.refreshCount);
+            result.add(status);
+        });
+        return result;
+    }
+
+    /**
+     * 갱신 주기가 지났거나 관련 데이터가 변경된 채널의 재조회를 전용 스레드 풀에 맡깁니다.
+     * 결과가 바뀌지 않은 채널에는 연결 유지용 주석(comment)만 보내 끊어진 연결을 정리합니다.
+     * 이전 재조회가 아직 끝나지 않은 채널은 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.push.check-interval:1000}")
+    public void refreshDue() {
+        long now = System.currentTimeMillis();
+        channels.forEach((key, channel) -> {
+            if ((channel.dirty || now - channel.refreshedAt >= refreshIntervalMillis) && channel.refreshing.compareAndSet(false, true)) {
+                try {
+                    refreshExecutor.execute(() -> {
+                        try {
+                            refresh(key, channel);
+                        } finally {
+                            channel.refreshing.set(false);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    channel.refreshing.set(false);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * DML 서비스가 커밋되면 같은 테이블을 조회하는 채널을 다음 확인 주기에 다시 조회하도록 표시합니다.
+     * 쿼리는 요청 스레드가 아닌 주기 작업에서 실행됩니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        channels.values().forEach(channel -> {
+            if (channel.usiteNo.equals(event.usiteNo()) && event.affects(channel.tableName)) {
+                channel.dirty = true;
+            }
+        });
+    }
+
+    /** 채널을 한 번 조회하고, 결과가 바뀌었으면 모든 구독자에게 전송합니다. 조회에 실패하면 null을 반환합니다. */
+    private String refresh(String key, Channel channel) {
+        String payload;
+        synchronized (channel) {
+            channel.dirty = false;
+            try {
+                List<Map<String, Object>> result = aggregateSnapshotService.isSnapshotRequest(channel.serviceName, channel.methodName, channel.params)
+                        ? aggregateSnapshotService.getSnapshot(channel.serviceName, channel.methodName, channel.usiteNo).body()
+                        : dynamicQueryService.executeDynamicQuery(channel.serviceName, channel.methodName, channel.usiteNo, new LinkedHashMap<>(channel.params));
+                payload = objectMapper.writeValueAsString(result);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Failed to refresh live query '{}': {}", key, e.getMessage());
+                return channel.lastPayload;
+            } finally {
+                channel.refreshedAt = System.currentTimeMillis();
+                channel.refreshCount++;
+            }
+            if (payload.equals(channel.lastPayload)) {
+                payload = null;
+            } else {
+                channel.lastPayload = payload;
+            }
+        }
+
+        // 결과는 한 번만 JSON으로 변환하여 모든 구독자에게 같은 문자열을 보냅니다.
+        for (SseEmitter emitter : channel.emitters) {
+            if (payload != null) {
+                send(key, channel, emitter, payload);
+            } else {
+                heartbeat(key, channel, emitter);
+            }
+        }
+        return channel.lastPayload;
+    }
+
+    private void send(String key, Channel channel, SseEmitter emitter, String payload) {
+        try {
+            emitter.send(SseEmitter.event().name(DATA_EVENT).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(key, channel, emitter);
+        }
+    }
+
+    private void heartbeat(String key, Channel channel, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(key, channel, emitter);
+        }
+    }
+
+    /** 구독자를 제거하고, 구독자가 없는 채널은 함께 제거합니다. */
+    private void removeEmitter(String key, Channel channel, SseEmitter emitter) {
+        if (channel.emitters.remove(emitter)) {
+            subscriberCount.decrementAndGet();
+        }
+        channels.computeIfPresent(key, (k, existing) -> existing.emitters.isEmpty() ? null : existing);
+    }
+
+    /**
+     * 구독할 서비스를 확인하고, 변경 이벤트와 비교할 테이블명(M_SERVICE.TABLE_NAME)을 반환합니다.
+     * DML 서비스를 구독하면 주기마다 DML이 다시 실행되고, 그 커밋이 다시 재조회를 일으키므로 조회 서비스만 허용합니다.
+     */
+    private String resolveTableName(String serviceName, String methodName, Long usiteNo) {
+        Map<String, Object> serviceInfo = mServiceMapper.findServiceQuery(usiteNo, serviceName, methodName);
+        if (serviceInfo == null) {
+            throw new IllegalArgumentException("Service not found for: " + serviceName + ", " + methodName + ", " + usiteNo);
+        }
+        String execType = (String) serviceInfo.get("EXEC_TYPE");
+        if (execType == null || !SUBSCRIBABLE_EXEC_TYPES.contains(execType.toUpperCase())) {
+            throw new InvalidParameterException("methodName",
+                    "Only READ/LIST services can be subscribed: " + serviceName + ", " + methodName + " (" + execType + ")");
+        }
+        return (String) serviceInfo.get("TABLE_NAME");
+    }
+
+    private String channelKey(String serviceName, String methodName, Long usiteNo, Map<String, Object> params) {
+        // 파라미터 순서와 관계없이 같은 조건이면 같은 채널을 사용하도록 정렬합니다.
+        return usiteNo + ":" + serviceName + "." + methodName + "?" + new TreeMap<>(params);
+    }
+
+    /**
+     * 같은 조건의 구독자를 묶는 채널.
+     */
+    private static class Channel {
+
+        final String serviceName;
+        final String methodName;
+        final Long usiteNo;
+        final Map<String, Object> params;
+        /** 이 서비스가 조회하는 테이블 (M_SERVICE.TABLE_NAME). 변경 이벤트와 비교하는 데 사용합니다. */
+        final String tableName;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        volatile String lastPayload;
+        volatile boolean dirty;
+        volatile long refreshedAt;
+        volatile long refreshCount;
+        /** 재조회 작업이 스레드 풀에 맡겨져 아직 끝나지 않았으면 true */
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Channel(String serviceName, String methodName, Long usiteNo, Map<String, Object> params, String tableName) {
+            this.serviceName = serviceName;
+            this.methodName = methodName;
+            this.usiteNo = usiteNo;
+            this.params = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+            this.tableName = tableName;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.kydbm.monarch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회 결과의 CLOB/BLOB 컬럼을 처리하는 컴포넌트.
+ * 작은 LOB은 값 그대로 반환하고, `monarch.lob.inline-threshold`를 넘는 LOB은 메모리에 올리지 않고
+ * 임시 파일로 나누어 복사한 뒤 핸들(`lobId`, `length`)만 결과에 담습니다.
+ * 실제 내용은 `/api/lob/{lobId}?usiteNo=`에서 내려받으며, 임시 파일은 `monarch.lob.ttl`이 지나면 삭제됩니다.
+ * <p>
+ * LOB은 조회한 회원사(usite)에 속합니다. 조회 결과는 같은 회원사의 요청끼리 공유(요청 병합, 스냅샷, 실시간 구독)되므로
+ * 사용자 단위가 아니라 회원사 단위로 내려받기를 허용합니다.
+ * lobId는 회원사와 내용의 해시(프로세스별 비밀 값 포함)로 만들어, 같은 내용을 다시 조회하면 같은 핸들이 반환됩니다.
+ */
+@Component
+public class LobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LobStore.class);
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final int inlineThreshold;
+    private final long ttlMillis;
+    private final Path spillDir;
+    private final Map<String, StoredLob> lobs = new ConcurrentHashMap<>();
+    /** lobId를 내용만으로 추측할 수 없도록 해시에 섞는 값 */
+    private final byte[] idSecret = new byte[32];
+
+    public LobStore(@Value("${monarch.lob.inline-threshold:32768}") int inlineThreshold,
+                    @Value("${monarch.lob.ttl:10m}") Duration ttl,
+                    @Value("${monarch.lob.spill-dir:${java.io.tmpdir}/monarch-lob}") String spillDir) throws IOException {
+        this.inlineThreshold = inlineThreshold;
+        this.ttlMillis = ttl.toMillis();
+        this.spillDir = Files.createDirectories(Path.of(spillDir));
+        new SecureRandom().nextBytes(idSecret);
+    }
+
+    /**
+     * LOB 컬럼을 위 규칙대로 변환하는 행 매퍼를 반환합니다. LOB이 아닌 컬럼은 `ColumnMapRowMapper`와 같습니다.
+     * @param mUsiteNo 조회한 회원사 번호 (임시 파일로 옮긴 LOB은 이 회원사에서만 내려받을 수 있습니다)
+     */
+    public RowMapper<Map<String, Object>> rowMapper(Long mUsiteNo) {
+        return new ColumnMapRowMapper() {
+            @Override
+            protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
+                int columnType = rs.getMetaData().getColumnType(index);
+                if (columnType == Types.CLOB || columnType == Types.NCLOB) {
+                    return readClob(rs.getClob(index), mUsiteNo);
+                }
+                if (columnType == Types.BLOB) {
+                    return readBlob(rs.getBlob(index), mUsiteNo);
+                }
+                return super.getColumnValue(rs, index);
+            }
+        };
+    }
+
+    /**
+     * CLOB 전체를 문자열로 읽습니다. 한 번에 읽지 않고 버퍼 단위로 나누어 읽습니다.
+     * 쿼리문, 화면 구성처럼 반드시 전체 내용이 필요한 정의 데이터에 사용합니다.
+     */
+    public static String readFully(Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder((int) Math.min(clob.length(), Integer.MAX_VALUE));
+        char[] buffer = new char[COPY_BUFFER_SIZE];
+        try (Reader reader = clob.getCharacterStream()) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read CLOB", e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 저장된 LOB을 찾습니다. 다른 회원사에서 조회된 LOB이거나 만료되었으면 빈 값을 반환합니다.
+     */
+    public Optional<StoredLob> find(String lobId, Long mUsiteNo) {
+        StoredLob lob = lobs.get(lobId);
+        if (lob == null || lob.isExpired(System.currentTimeMillis())
+                || !Objects.equals(lob.usiteNo(), mUsiteNo)
+                || !Files.exists(lob.path())) {
+            return Optional.empty();
+        }
+        return Optional.of(lob);
+    }
+
+    /**
+     * 만료된 임시 파일을 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.lob.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        // 같은 lobId가 다시 등록되며 만료 시각이 연장될 수 있으므로, 키 단위로 원자적으로 확인하고 삭제합니다.
+        for (String lobId : lobs.keySet()) {
+            lobs.computeIfPresent(lobId, (id, lob) -> {
+                if (!lob.isExpired(now)) {
+                    return lob;
+                }
+                delete(lob.path());
+                return null;
+            });
+        }
+    }
+
+    private Object readClob(Clob clob, Long mUsiteNo) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        try {
+            long length = clob.length();
+            if (length <= inlineThreshold) {
+                return readFully(clob);
+            }
+            Path path = Files.createTempFile(spillDir, "clob-", ".txt");
+            MessageDigest digest = newDigest(mUsiteNo, "CLOB");
+            try (Reader reader = clob.getCharacterStream();
+                 Writer writer = new OutputStreamWriter(new DigestOutputStream(
+                         new BufferedOutputStream(Files.newOutputStream(path)), digest), StandardCharsets.UTF_8)) {
+                reader.transferTo(writer);
+            }
+            return register(path, "CLOB", length, mUsiteNo, digest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill CLOB", e);
+        } finally {
+            clob.free();
+        }
+    }
+
+    private Object readBlob(Blob blob, Long mUsiteNo) throws SQLException {
+        if (blob == null) {
+            return null;
+        }
+        try {
+            long length = blob.length();
+            if (length <= inlineThreshold) {
+                return blob.getBytes(1, (int) length);
+            }
+            Path path = Files.createTempFile(spillDir, "blob-", ".bin");
+            MessageDigest digest = newDigest(mUsiteNo, "BLOB");
+            try (InputStream in = new DigestInputStream(blob.getBinaryStream(), digest); OutputStream out = Files.newOutputStream(path)) {
+                in.transferTo(out);
+            }
+            return register(path, "BLOB", length, mUsiteNo, digest);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill BLOB", e);
+        } finally {
+            blob.free();
+        }
+    }
+
+    /** lobId 해시를 시작합니다. 회원사와 타입이 다르면 내용이 같아도 다른 lobId가 됩니다. */
+    private MessageDigest newDigest(Long mUsiteNo, String type) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(idSecret);
+            digest.update((mUsiteNo + ":" + type + ":").getBytes(StandardCharsets.UTF_8));
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 임시 파일을 등록하고 결과에 담을 핸들을 만듭니다.
+     * 같은 내용이 이미 등록되어 있으면 새 파일은 지우고 기존 파일의 만료 시각만 연장합니다.
+     */
+    private Map<String, Object> register(Path path, String type, long length, Long mUsiteNo, MessageDigest digest) {
+        String lobId = HexFormat.of().formatHex(digest.digest());
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        lobs.compute(lobId, (id, existing) -> {
+            if (existing != null && Files.exists(existing.path())) {
+                delete(path);
+                return new StoredLob(id, type, length, existing.path(), mUsiteNo, Math.max(existing.expiresAt(), expiresAt));
+            }
+            return new StoredLob(id, type, length, path, mUsiteNo, expiresAt);
+        });
+
+        Map<String, Object> handle = new LinkedHashMap<>();
+        handle.put("lobId", lobId);
+        handle.put("lobType", type);
+        handle.put("length", length);
+        handle.put("usiteNo", mUsiteNo);
+        return handle;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete LOB spill file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 임시 파일로 옮겨 둔 LOB 하나.
+     * @param length CLOB은 문자 수, BLOB은 바이트 수
+     * @param usiteNo 조회한 회원사 번호 (내려받기는 같은 회원사에서만 가능)
+     */
+    public record StoredLob(String lobId, String type, long length, Path path, Long usiteNo, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.LookupOptions;
+import com.kydbm.monarch.mapper.MServiceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 고객, 품목 같은 작은 코드/참조 테이블을 회원사별로 메모리에 적재하고,
+ * 표시 컬럼에 대한 접두어(prefix)/부분 문자열(infix) 색인으로 팝업 검색(typeahead)에 응답하는 서비스.
+ * 캐시 대상 서비스는 `monarch.services[n].lookup` 설정으로 지정하며,
+ * 주기적으로 다시 읽거나 같은 테이블을 변경하는 DML 서비스가 실행되면 무효화됩니다.
+ */
+@Service
+public class LookupCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(LookupCacheService.class);
+
+    private final DynamicQueryService dynamicQueryService;
+    private final MServiceMapper mServiceMapper;
+    private final ServiceOptionsProperties serviceOptionsProperties;
+
+    /** 적재된 캐시. 키: "회원사번호:서비스명.메소드명" */
+    private final Map<String, LookupTable> tables = new ConcurrentHashMap<>();
+    /** 적재 중인 캐시. 같은 키를 동시에 검색하면 먼저 시작한 적재 결과를 함께 기다립니다. */
+    private final Map<String, PendingLoad> loading = new ConcurrentHashMap<>();
+
+    public LookupCacheService(DynamicQueryService dynamicQueryService, MServiceMapper mServiceMapper,
+                              ServiceOptionsProperties serviceOptionsProperties) {
+        this.dynamicQueryService = dynamicQueryService;
+        this.mServiceMapper = mServiceMapper;
+        this.serviceOptionsProperties = serviceOptionsProperties;
+    }
+
+    /** 코드 테이블 캐시(`monarch.services[n].lookup`) 대상 서비스이면 true */
+    public boolean isLookupService(String serviceName, String methodName) {
+        return serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getLookup)
+                .isPresent();
+    }
+
+    /**
+     * 캐시된 코드 테이블에서 검색어와 일치하는 행을 찾습니다.
+     * 표시 값이나 그 단어가 검색어로 시작하는 행을 먼저, 검색어를 포함하는 행을 그 다음에 반환합니다.
+     * @param serviceName 캐시 대상 서비스명
+     * @param methodName 캐시 대상 메소드명
+     * @param usiteNo 회원사 번호
+     * @param query 검색어 (비어 있으면 앞에서부터 limit 건)
+     * @param limit 최대 반환 건수
+     * @return 검색된 행 목록
+     * @throws IllegalArgumentException 캐시 대상으로 설정되지 않은 서비스일 때
+     */
+    public List<Map<String, Object>> search(String serviceName, String methodName, Long usiteNo, String query, int limit) {
+        LookupOptions options = findLookupOptions(serviceName, methodName);
+        String key = cacheKey(serviceName, methodName, usiteNo);
+        LookupTable table = tables.get(key);
+        if (table == null) {
+            table = loadShared(key, serviceName, methodName, usiteNo, options);
+        }
+        return table.search(normalize(query), limit);
+    }
+
+    /**
+     * 캐시를 적재합니다. 적재(DB 조회)는 맵의 잠금 밖에서 실행하고, 같은 키의 동시 요청은 하나의 적재 결과를 공유합니다.
+     */
+    private LookupTable loadShared(String key, String serviceName, String methodName, Long usiteNo, LookupOptions options) {
+        PendingLoad candidate = new PendingLoad(usiteNo);
+        PendingLoad existing = loading.putIfAbsent(key, candidate);
+        if (existing != null) {
+            return await(existing.future);
+        }
+        try {
+            LookupTable table = load(serviceName, methodName, usiteNo, options, candidate);
+            // 적재하는 동안 같은 테이블이 변경되었으면 이번 결과는 응답에만 사용하고 캐시에 넣지 않습니다.
+            if (!candidate.invalidated) {
+                tables.put(key, table);
+            }
+            candidate.future.complete(table);
+            return table;
+        } catch (RuntimeException | Error e) {
+            candidate.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, candidate);
+        }
+    }
+
+    private static LookupTable await(CompletableFuture<LookupTable> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 먼저 적재한 요청의 예외를 그대로 전달합니다.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 캐시 적재 현황을 반환합니다. (관리자 화면용)
+     */
+    public List<Map<String, Object>> getCacheStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        tables.forEach((key, table) -> {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("key", key);
+            status.put("rows", table.rows.size());
+            status.put("tableName", table.tableName);
+            status.put("loadedAt", table.loadedAt);
+            status.put("loadMillis", table.loadMillis);
+            result.add(status);
+        });
+        return result;
+    }
+
+    /**
+     * 갱신 주기가 지난 캐시를 다시 적재합니다. 적재 중에도 기존 캐시로 계속 응답합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.lookup.refresh-check-interval:60000}")
+    public void refreshExpired() {
+        long now = System.currentTimeMillis();
+        tables.forEach((key, table) -> {
+            if (now - table.loadedAt >= table.options.getRefreshInterval().toMillis()) {
+                try {
+                    // 다시 읽는 동안 무효화된 캐시는 되살리지 않습니다.
+                    tables.replace(key, table, load(table.serviceName, table.methodName, table.usiteNo, table.options, null));
+                } catch (Exception e) {
+                    log.warn("Failed to refresh lookup cache '{}'. Keeping previous data: {}", key, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * DML 서비스가 커밋되면 같은 테이블을 사용하는 캐시를 무효화합니다. 다음 검색 시 다시 적재됩니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        loading.values().forEach(pending -> {
+            if (pending.usiteNo.equals(event.usiteNo()) && (!pending.tableResolved || event.affects(pending.tableName))) {
+                pending.invalidated = true;
+            }
+        });
+        tables.entrySet().removeIf(entry -> {
+            LookupTable table = entry.getValue();
+            boolean invalidate = table.usiteNo.equals(event.usiteNo()) && event.affects(table.tableName);
+            if (invalidate) {
+                log.info("Lookup cache '{}' invalidated by {}.{}", entry.getKey(), event.serviceName(), event.methodName());
+            }
+            return invalidate;
+        });
+    }
+
+    private LookupOptions findLookupOptions(String serviceName, String methodName) {
+        return serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getLookup)
+                .orElseThrow(() -> new IllegalArgumentException("Lookup cache is not configured for: " + serviceName + ", " + methodName));
+    }
+
+    /**
+     * 서비스를 실행하여 전체 행을 읽고 검색 색인을 만듭니다.
+     * @param pending 검색 요청에서 적재하는 경우의 진행 상태 (변경 대상 테이블을 먼저 알려 적재 중 무효화를 감지합니다)
+     */
+    private LookupTable load(String serviceName, String methodName, Long usiteNo, LookupOptions options, PendingLoad pending) {
+        long start = System.currentTimeMillis();
+
+        Map<String, Object> serviceInfo = mServiceMapper.findServiceQuery(usiteNo, serviceName, methodName);
+        String tableName = serviceInfo != null ? (String) serviceInfo.get("TABLE_NAME") : null;
+        if (pending != null) {
+            pending.tableName = tableName;
+            pending.tableResolved = true;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("USITE", usiteNo);
+        // LIST 서비스도 전체 행을 한 번에 읽도록 페이지 크기를 최대 행 수로 지정합니다.
+        params.put("_page", "1");
+        params.put("_size", String.valueOf(options.getMaxRows()));
+        List<Map<String, Object>> result = dynamicQueryService.executeDynamicQuery(serviceName, methodName, usiteNo, params);
+
+        List<Map<String, Object>> rows = result;
+        if (result.size() == 1 && result.get(0).get("data") instanceof List<?> data) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> listData = (List<Map<String, Object>>) data;
+            rows = listData;
+        }
+        if (rows.size() >= options.getMaxRows()) {
+            log.warn("Lookup cache {}.{} reached max rows ({}). Results may be incomplete.", serviceName, methodName, options.getMaxRows());
+        }
+
+        LookupTable table = new LookupTable(serviceName, methodName, usiteNo, options, tableName, rows);
+        table.loadMillis = System.currentTimeMillis() - start;
+        log.info("Lookup cache {}.{} (usite {}) loaded: {} rows in {} ms", serviceName, methodName, usiteNo, rows.size(), table.loadMillis);
+        return table;
+    }
+
+    private static String cacheKey(String serviceName, String methodName, Long usiteNo) {
+        return usiteNo + ":" + serviceName + "." + methodName;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** 적재 중인 캐시 하나. 적재가 끝나기 전에 같은 테이블이 변경되면 invalidated 가 true 가 됩니다. */
+    private static class PendingLoad {
+
+        final CompletableFuture<LookupTable> future = new CompletableFuture<>();
+        final Long usiteNo;
+        volatile String tableName;
+        volatile boolean tableResolved;
+        volatile boolean invalidated;
+
+        PendingLoad(Long usiteNo) {
+            this.usiteNo = usiteNo;
+        }
+    }
+
+    /**
+     * 적재된 코드 테이블 하나와 그 검색 색인.
+     * - prefixIndex: 표시 값 전체와 각 단어를 키로 하는 정렬 맵. 접두어 검색은 subMap 범위 조회로 처리합니다.
+     * - trigramIndex: 3글자 조각(trigram)별 행 번호 목록. 3글자 이상의 부분 문자열 검색 후보를 좁히는 데 사용합니다.
+     * 적재 후에는 변경되지 않으므로 여러 스레드에서 잠금 없이 읽을 수 있습니다.
+     */
+    private static class LookupTable {
+
+        final String serviceName;
+        final String methodName;
+        final Long usiteNo;
+        final LookupOptions options;
+        final String tableName;
+        final List<Map<String, Object>> rows;
+        final long loadedAt = System.currentTimeMillis();
+        long loadMillis;
+
+        /** 행 번호별 검색 대상 문자열 (표시 컬럼 값을 소문자로 변환) */
+        private final String[][] searchValues;
+        private final NavigableMap<String, int[]> prefixIndex = new TreeMap<>();
+        private final Map<String, int[]> trigramIndex = new HashMap<>();
+
+        LookupTable(String serviceName, String methodName, Long usiteNo, LookupOptions options,
+                    String tableName, List<Map<String, Object>> rows) {
+            this.serviceName = serviceName;
+            this.methodName = methodName;
+            this.usiteNo = usiteNo;
+            this.options = options;
+            this.tableName = tableName;
+            this.rows = List.copyOf(rows);
+            this.searchValues = new String[rows.size()][];
+
+            Map<String, List<Integer>> prefixBuilder = new HashMap<>();
+            Map<String, List<Integer>> trigramBuilder = new HashMap<>();
+            for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
+                Map<String, Object> row = rows.get(rowIdx);
+                List<String> values = new ArrayList<>();
+                for (String field : options.getDisplayFields()) {
+                    Object value = row.get(field);
+                    if (value != null) {
+                        values.add(normalize(value.toString()));
+                    }
+                }
+                searchValues[rowIdx] = values.toArray(new String[0]);
+
+                Set<String> terms = new LinkedHashSet<>();
+                Set<String> trigrams = new LinkedHashSet<>();
+                for (String value : values) {
+                    terms.add(value);
+                    terms.addAll(Arrays.asList(value.split("[\\s\\p{Punct}]+")));
+                    for (int i = 0; i + 3 <= value.length(); i++) {
+                        trigrams.add(value.substring(i, i + 3));
+                    }
+                }
+                for (String term : terms) {
+                    if (!term.isEmpty()) {
+                        prefixBuilder.computeIfAbsent(term, k -> new ArrayList<>()).add(rowIdx);
+                    }
+                }
+                for (String trigram : trigrams) {
+                    trigramBuilder.computeIfAbsent(trigram, k -> new ArrayList<>()).add(rowIdx);
+                }
+            }
+            prefixBuilder.forEach((term, ids) -> prefixIndex.put(term, toArray(ids)));
+            trigramBuilder.forEach((trigram, ids) -> trigramIndex.put(trigram, toArray(ids)));
+        }
+
+        List<Map<String, Object>> search(String query, int limit) {
+            Set<Integer> matched = new LinkedHashSet<>();
+            if (query.isEmpty()) {
+                for (int i = 0; i < rows.size() && matched.size() < limit; i++) {
+                    matched.add(i);
+                }
+                return collect(matched);
+            }
+
+            // 1. 접두어 일치: 값 전체 또는 단어가 검색어로 시작하는 행
+            for (int[] ids : prefixIndex.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+                for (int id : ids) {
+                    matched.add(id);
+                    if (matched.size() >= limit) {
+                        return collect(matched);
+                    }
+                }
+            }
+
+            // 2. 부분 문자열 일치: 3글자 이상이면 trigram 색인으로 후보를 좁히고, 짧으면 전체를 확인합니다.
+            int[] candidates = query.length() >= 3 ? trigramCandidates(query) : null;
+            int candidateCount = candidates != null ? candidates.length : rows.size();
+            for (int i = 0; i < candidateCount && matched.size() < limit; i++) {
+                int id = candidates != null ? candidates[i] : i;
+                if (!matched.contains(id) && containsQuery(id, query)) {
+                    matched.add(id);
+                }
+            }
+            return collect(matched);
+        }
+
+        /** 검색어의 trigram 중 가장 적은 행을 가진 목록을 후보로 사용합니다. */
+        private int[] trigramCandidates(String query) {
+            int[] smallest = null;
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                int[] ids = trigramIndex.get(query.substring(i, i + 3));
+                if (ids == null) {
+                    return new int[0];
+                }
+                if (smallest == null || ids.length < smallest.length) {
+                    smallest = ids;
+                }
+            }
+            return smallest;
+        }
+
+        private boolean containsQuery(int rowIdx, String query) {
+            for (String value : searchValues[rowIdx]) {
+                if (value.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Map<String, Object>> collect(Set<Integer> ids) {
+            List<Map<String, Object>> result = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                result.add(rows.get(id));
+            }
+            return result;
+        }
+
+        private static int[] toArray(List<Integer> ids) {
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.QueryGuardProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 서비스 메소드(serviceName, methodName)별로 적응형 동시 실행 제한과 서킷 브레이커를 적용하는 서비스.
+ * 특정 리포트 하나가 느려져도 커넥션 풀 전체를 점유하지 못하도록, 관측된 지연 시간이 올라가면 허용 수를 줄이고
+ * 연속 타임아웃이 발생하면 서킷을 열어 일정 시간 동안 즉시 실패시킵니다.
+ */
+@Service
+public class QueryGuardService {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryGuardService.class);
+    /** 기준 지연 시간(장기 평균)에 새 호출이 반영되는 비율. 약 100건의 호출을 평균한 값이 됩니다. */
+    private static final double BASELINE_WEIGHT = 0.01;
+    /** 최근 지연 시간(단기 평균)에 새 호출이 반영되는 비율 */
+    private static final double SMOOTHING_WEIGHT = 0.1;
+
+    /** 서킷 브레이커 상태 */
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final QueryGuardProperties properties;
+    private final Map<String, MethodGuard> guards = new ConcurrentHashMap<>();
+
+    public QueryGuardService(QueryGuardProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 동시 실행 제한과 서킷 브레이커를 거쳐 작업을 실행합니다.
+     * @param serviceName M_SERVICE 테이블의 SERVICE_NAME 컬럼 값
+     * @param methodName M_SERVICE 테이블의 METHOD_NAME 컬럼 값
+     * @param action 실제 쿼리 실행 작업
+     * @return 작업의 실행 결과
+     * @throws ServiceUnavailableException 서킷이 열려 있거나 동시 실행 허용 수를 초과했을 때
+     */
+    public <T> T execute(String serviceName, String methodName, Supplier<T> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+
+        MethodGuard guard = guards.computeIfAbsent(serviceName + "." + methodName, MethodGuard::new);
+        boolean probe = guard.acquire();
+
+        long startNanos = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            timedOut = isTimeout(e);
+            throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (elapsedNanos >= properties.getSlowCallThreshold().toNanos()) {
+                timedOut = true;
+            }
+            guard.release(elapsedNanos, timedOut, probe);
+        }
+    }
+
+    /**
+     * 관리자 화면에서 확인할 수 있도록 모든 서비스 메소드의 현재 상태를 반환합니다.
+     * @return 서비스 메소드별 상태 정보 목록
+     */
+    public List<Map<String, Object>> getGuardStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        guards.values().forEach(guard -> result.add(guard.snapshot()));
+        result.sort((a, b) -> ((String) a.get("key")).compareTo((String) b.get("key")));
+        return result;
+    }
+
+    /**
+     * 특정 서비스 메소드의 상태를 초기화합니다. (서킷 강제 복구용)
+     * @return 초기화 대상이 존재했으면 true
+     */
+    public boolean reset(String serviceName, String methodName) {
+        return guards.remove(serviceName + "." + methodName) != null;
+    }
+
+    /** 예외의 원인 체인에 쿼리 타임아웃 또는 커넥션 획득 타임아웃이 포함되어 있는지 확인합니다. */
+    private boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTimeoutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof CannotGetJdbcConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 서비스 메소드 하나에 대한 동시 실행 제한값과 서킷 상태.
+     * 최근 지연 시간(단기 평균)이 기준(baseline, 장기 평균) 대비 허용 배율 이내면 허용 수를 천천히 늘리고(additive increase),
+     * 넘어서거나 타임아웃이 발생하면 표본 구간(sample-window)마다 최대 한 번 비율로 줄입니다(multiplicative decrease).
+     * 기준을 최솟값이 아닌 장기 평균으로 두어, 파라미터에 따라 지연 시간 편차가 큰 LIST 서비스가 최소 허용 수로 줄어들지 않도록 합니다.
+     */
+    private class MethodGuard {
+
+        private final String key;
+        private double limit = properties.getInitialLimit();
+        private int inFlight;
+        private double baselineMs = -1;
+        private double smoothedMs = -1;
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveTimeouts;
+        private long openedAt;
+        private boolean probeInFlight;
+        private long lastDecreaseNanos;
+        private long rejectedCount;
+        private long completedCount;
+
+        MethodGuard(String key) {
+            this.key = key;
+        }
+
+        /**
+         * 실행 슬롯을 얻습니다.
+         * @return 서킷 복구 확인(HALF_OPEN)을 위한 요청이면 true. release 에 그대로 전달해야 합니다.
+         */
+        synchronized boolean acquire() {
+            if (state == CircuitState.OPEN) {
+                long elapsed = System.currentTimeMillis() - openedAt;
+                if (elapsed < properties.getOpenDuration().toMillis()) {
+                    rejectedCount++;
+                    long retryAfter = Math.max(1, (properties.getOpenDuration().toMillis() - elapsed) / 1000);
+                    throw new ServiceUnavailableException(
+                            "Service temporarily unavailable due to repeated timeouts: " + key, retryAfter);
+                }
+                // 대기 시간이 지나면 한 건의 요청만 통과시켜 복구 여부를 확인합니다.
+                state = CircuitState.HALF_OPEN;
+                log.info("Circuit for '{}' is half-open. Probing for recovery.", key);
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (probeInFlight) {
+                    rejectedCount++;
+                    throw new ServiceUnavailableException("Service is recovering, please retry shortly: " + key, 1);
+                }
+                probeInFlight = true;
+                inFlight++;
+                return true;
+            } else if (inFlight >= (int) limit) {
+                rejectedCount++;
+                throw new ServiceUnavailableException(
+                        "Too many concurrent requests for " + key + " (limit " + (int) limit + ")", 1);
+            }
+            inFlight++;
+            return false;
+        }
+
+        synchronized void release(long elapsedNanos, boolean timedOut, boolean probe) {
+            inFlight--;
+            completedCount++;
+            double elapsedMs = elapsedNanos / 1_000_000.0;
+
+            // 서킷이 열리기 전에 시작되어 늦게 끝난 요청은 복구 확인 결과로 보지 않고, 복구 확인 요청만 서킷 상태를 바꿉니다.
+            if (state == CircuitState.HALF_OPEN && probe) {
+                probeInFlight = false;
+                if (timedOut) {
+                    open();
+                } else {
+                    state = CircuitState.CLOSED;
+                    consecutiveTimeouts = 0;
+                    log.info("Circuit for '{}' closed after successful probe ({} ms).", key, (long) elapsedMs);
+                }
+            } else if (state == CircuitState.CLOSED) {
+                // 서킷이 열리기 전에 시작된 요청이 늦게 끝나는 경우는 상태 변경에 반영하지 않습니다.
+                consecutiveTimeouts = timedOut ? consecutiveTimeouts + 1 : 0;
+                if (consecutiveTimeouts >= properties.getFailureThreshold()) {
+                    open();
+                }
+            }
+
+            updateLimit(elapsedMs, timedOut);
+        }
+
+        private void open() {
+            state = CircuitState.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+            limit = properties.getMinLimit();
+            log.warn("Circuit for '{}' opened after {} consecutive timeouts.", key, consecutiveTimeouts);
+        }
+
+        private void updateLimit(double elapsedMs, boolean timedOut) {
+            smoothedMs = smoothedMs < 0 ? elapsedMs : smoothedMs + (elapsedMs - smoothedMs) * SMOOTHING_WEIGHT;
+            // 타임아웃된 호출은 기준값에 넣지 않습니다. (기준값이 장애 상태의 지연 시간으로 끌려 올라가지 않도록)
+            if (!timedOut) {
+                baselineMs = baselineMs < 0 ? elapsedMs : baselineMs + (elapsedMs - baselineMs) * BASELINE_WEIGHT;
+            }
+
+            if (timedOut || smoothedMs > Math.max(baselineMs, 1.0) * properties.getLatencyTolerance()) {
+                // 줄인 효과가 지연 시간에 나타나기 전에 연달아 줄이지 않도록, 표본 구간마다 한 번만 줄입니다.
+                long now = System.nanoTime();
+                long windowNanos = Math.max(properties.getSampleWindow().toNanos(), (long) (smoothedMs * 1_000_000));
+                if (lastDecreaseNanos == 0 || now - lastDecreaseNanos >= windowNanos) {
+                    limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlight + 1 >= (int) limit) {
+                // 허용 수를 실제로 사용하고 있을 때만 늘려서, 한가한 시간에 값이 무한정 커지지 않도록 합니다.
+                limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+            }
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("key", key);
+            status.put("state", state.name());
+            status.put("limit", (int) limit);
+            status.put("inFlight", inFlight);
+            status.put("baselineMs", Math.round(Math.max(baselineMs, 0)));
+            status.put("smoothedMs", Math.round(Math.max(smoothedMs, 0)));
+            status.put("consecutiveTimeouts", consecutiveTimeouts);
+            status.put("rejectedCount", rejectedCount);
+            status.put("completedCount", completedCount);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.ParamSchema;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서비스에 설정된 파라미터 스키마(`monarch.services[n].params`)에 따라 요청 파라미터를 검증하고 변환하는 컴포넌트.
+ * 요청 파라미터는 모두 문자열로 들어오므로, NUMBER/DATE 컬럼과 비교되는 값을 문자열로 바인딩하면 Oracle이 컬럼 쪽을 암시적으로
+ * 변환하여 인덱스를 사용하지 못하거나 실행 계획이 흔들릴 수 있습니다. 스키마가 지정된 파라미터는 실행 전에 한 번 변환하고
+ * 지정된 JDBC 타입으로 바인딩합니다.
+ */
+@Component
+public class QueryParamBinder {
+
+    private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
+    private static final String DEFAULT_TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private final ServiceOptionsProperties serviceOptionsProperties;
+    private final Map<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+    public QueryParamBinder(ServiceOptionsProperties serviceOptionsProperties) {
+        this.serviceOptionsProperties = serviceOptionsProperties;
+    }
+
+    /**
+     * 스키마가 지정된 파라미터를 검증하고 타입에 맞는 값으로 변환합니다.
+     * @param queryParams 요청 파라미터
+     * @return 변환된 파라미터 (스키마가 없으면 전달받은 Map 그대로)
+     * @throws InvalidParameterException 필수 파라미터가 없거나 형식이 맞지 않을 때
+     */
+    public Map<String, Object> convert(String serviceName, String methodName, Map<String, Object> queryParams) {
+        Map<String, ParamSchema> schemas = findSchemas(serviceName, methodName);
+        if (schemas.isEmpty()) {
+            return queryParams;
+        }
+        Map<String, Object> converted = new LinkedHashMap<>(queryParams);
+        schemas.forEach((name, schema) -> {
+            Object value = queryParams.get(name);
+            if (schema.isRequired() && (value == null || value.toString().isBlank())) {
+                throw new InvalidParameterException(name, "Required parameter is missing: " + name);
+            }
+            if (queryParams.containsKey(name)) {
+                converted.put(name, convertValue(name, schema, value));
+            }
+        });
+        return converted;
+    }
+
+    /**
+     * 바인드 변수를 추가합니다. 스키마가 지정된 파라미터는 변환된 값과 JDBC 타입을 함께 지정합니다.
+     * @param parameters 바인드 변수 목록
+     * @param name 파라미터명
+     * @param value 값 (이미 변환된 값이면 그대로 사용)
+     */
+    public void addValue(MapSqlParameterSource parameters, String serviceName, String methodName, String name, Object value) {
+        ParamSchema schema = findSchemas(serviceName, methodName).get(name);
+        if (schema == null) {
+            parameters.addValue(name, value);
+            return;
+        }
+        parameters.addValue(name, convertValue(name, schema, value), sqlType(name, schema).getVendorTypeNumber());
+    }
+
+    private Map<String, ParamSchema> findSchemas(String serviceName, String methodName) {
+        return serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getParams)
+                .orElse(Map.of());
+    }
+
+    private Object convertValue(String name, ParamSchema schema, Object value) {
+        JDBCType type = sqlType(name, schema);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        try {
+            switch (type) {
+                case CHAR, VARCHAR, NCHAR, NVARCHAR, LONGVARCHAR, LONGNVARCHAR, CLOB, NCLOB:
+                    return value.toString();
+                default:
+                    break;
+            }
+            // 문자열이 아닌 타입은 빈 값을 NULL로 바인딩합니다.
+            if (text.isEmpty()) {
+                return null;
+            }
+            switch (type) {
+                case NUMERIC, DECIMAL, FLOAT, REAL, DOUBLE:
+                    return value instanceof BigDecimal ? value : new BigDecimal(text);
+                case TINYINT, SMALLINT, INTEGER, BIGINT:
+                    return value instanceof Long ? value : new BigDecimal(text).longValueExact();
+                case DATE:
+                    return value instanceof Date ? value
+                            : Date.valueOf(LocalDate.parse(text, formatter(schema.getFormat(), DEFAULT_DATE_FORMAT)));
+                case TIMESTAMP:
+                    if (value instanceof Timestamp) {
+                        return value;
+                    }
+                    if (schema.getFormat() == null && text.length() == DEFAULT_DATE_FORMAT.length()) {
+                        // 날짜만 전달되면 그날 0시로 봅니다. (예: 기간 검색의 시작일)
+                        return Timestamp.valueOf(LocalDate.parse(text, formatter(null, DEFAULT_DATE_FORMAT)).atStartOfDay());
+                    }
+                    return Timestamp.valueOf(LocalDateTime.parse(text, formatter(schema.getFormat(), DEFAULT_TIMESTAMP_FORMAT)));
+                default:
+                    throw new IllegalStateException("Unsupported parameter type for " + name + ": " + type);
+            }
+        } catch (NumberFormatException | ArithmeticException | DateTimeParseException e) {
+            throw new InvalidParameterException(name, "Invalid " + type.getName() + " value for parameter " + name + ": " + text);
+        }
+    }
+
+    private static JDBCType sqlType(String name, ParamSchema schema) {
+        try {
+            return JDBCType.valueOf(schema.getType().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown parameter type for " + name + ": " + schema.getType());
+        }
+    }
+
+    private DateTimeFormatter formatter(String format, String defaultFormat) {
+        return formatters.computeIfAbsent(format != null ? format : defaultFormat, DateTimeFormatter::ofPattern);
+    }
+}
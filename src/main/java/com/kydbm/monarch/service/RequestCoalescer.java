@@ -0,0 +1,142 @@
+package com.kydbm.monarch.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 요청이 동시에 들어오면 하나만 실행하고(single-flight) 나머지는 그 결과를 함께 받도록 하는 컴포넌트.
+ * `monarch.coalesce.window`가 0보다 크면, 실행이 끝난 뒤에도 그 시간 동안 들어온 같은 요청에 결과를 재사용합니다.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final long windowNanos;
+
+    /** 실행 중이거나 재사용 기간 안에 있는 실행. 키: 호출자가 정한 요청 키 */
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong rejectedShares = new AtomicLong();
+
+    public RequestCoalescer(@Value("${monarch.coalesce.enabled:true}") boolean enabled,
+                            @Value("${monarch.coalesce.window:0ms}") Duration window) {
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 같은 키로 실행 중인 요청이 있으면 그 결과를 기다려 반환하고, 없으면 직접 실행합니다.
+     * @param key 요청 키 (같은 키는 같은 결과를 반환해야 합니다)
+     * @param supplier 실제 실행
+     * @param shareable 먼저 실행된 결과를 공유해도 되는지 실행 후에 다시 확인합니다. false이면 직접 실행합니다.
+     * @return 실행 결과 (공유된 결과일 수 있으므로 호출자는 변경하지 않아야 합니다)
+     */
+    public <T> T execute(String key, Supplier<T> supplier, BooleanSupplier shareable) {
+        if (!enabled) {
+            return supplier.get();
+        }
+
+        Flight candidate = new Flight();
+        Flight flight = flights.compute(key, (k, existing) ->
+                existing != null && !existing.isExpired(System.nanoTime()) ? existing : candidate);
+
+        if (flight != candidate) {
+            Object result = await(flight.future);
+            if (shareable.getAsBoolean()) {
+                hits.incrementAndGet();
+                @SuppressWarnings("unchecked")
+                T shared = (T) result;
+                return shared;
+            }
+            rejectedShares.incrementAndGet();
+            return supplier.get();
+        }
+
+        executions.incrementAndGet();
+        try {
+            T result = supplier.get();
+            candidate.complete(result, null);
+            return result;
+        } catch (RuntimeException | Error e) {
+            candidate.complete(null, e);
+            throw e;
+        } finally {
+            // 재사용 기간이 없으면 바로 제거하고, 있으면 기간이 지난 뒤 정리 작업이나 다음 요청에서 교체됩니다.
+            if (windowNanos <= 0) {
+                flights.remove(key, candidate);
+            }
+        }
+    }
+
+    /**
+     * 재사용 기간이 지난 실행 결과를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.coalesce.purge-interval:10000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.isExpired(now));
+    }
+
+    /**
+     * 실행 횟수와 결과 공유(hit) 횟수를 반환합니다. (관리자 화면용)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("windowMillis", windowNanos / 1_000_000);
+        stats.put("inFlight", flights.size());
+        stats.put("executions", executions.get());
+        stats.put("hits", hits.get());
+        stats.put("rejectedShares", rejectedShares.get());
+        return stats;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 먼저 실행한 요청의 예외를 그대로 전달합니다.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /** 하나의 실행과 그 결과 */
+    private class Flight {
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile long completedAt;
+
+        void complete(Object result, Throwable error) {
+            completedAt = System.nanoTime();
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        /** 실행이 끝났고, 실패했거나 재사용 기간이 지났으면 true */
+        boolean isExpired(long now) {
+            return future.isDone() && (future.isCompletedExceptionally() || now - completedAt >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kydbm.monarch.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 요청 하나의 단계별(인증, M_SERVICE 조회, 쿼리 치환, 건수/페이지 조회, JSON 변환 등) 소요 시간 기록.
+ * 기록 중인 요청의 스레드에만 저장되며, 기록 대상이 아닌 요청에서는 모든 메소드가 아무 일도 하지 않습니다.
+ * 결과는 `Server-Timing` 응답 헤더로 전달되어 브라우저 개발자 도구의 Timing 탭에서 확인할 수 있습니다.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private long serializeStartNanos;
+
+    private RequestTiming() {
+    }
+
+    /** 현재 스레드에서 기록을 시작합니다. */
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /** 현재 스레드의 기록을 끝냅니다. */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** 현재 스레드의 기록 (기록 대상이 아니면 null) */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 단계 소요 시간을 더합니다. 같은 이름의 단계가 여러 번 실행되면(COMPOSITE 등) 합산됩니다.
+     * @param rows 단계에서 처리한 행 수 (없으면 -1)
+     */
+    public static void record(String phase, long elapsedNanos, long rows) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            Phase entry = timing.phases.computeIfAbsent(phase, name -> new Phase());
+            entry.nanos += elapsedNanos;
+            if (rows >= 0) {
+                entry.rows += rows;
+            }
+        }
+    }
+
+    /** 요청 시작부터 지금까지의 시간을 단계 소요 시간으로 기록합니다. */
+    public static void recordSinceStart(String phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            record(phase, System.nanoTime() - timing.startNanos, -1);
+        }
+    }
+
+    /** 작업을 실행하고 소요 시간을 단계로 기록합니다. */
+    public static <T> T time(String phase, Supplier<T> supplier) {
+        if (CURRENT.get() == null) {
+            return supplier.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(phase, System.nanoTime() - start, -1);
+        }
+    }
+
+    /** 응답 본문(JSON) 변환 시작 시점을 기록합니다. */
+    public static void markSerializeStart() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.serializeStartNanos == 0) {
+            timing.serializeStartNanos = System.nanoTime();
+        }
+    }
+
+    /** 응답 본문 변환 시작부터 지금까지를 `serialize`, 요청 시작부터 지금까지를 `total`로 기록합니다. */
+    public void finish() {
+        long now = System.nanoTime();
+        if (serializeStartNanos != 0) {
+            phases.computeIfAbsent("serialize", name -> new Phase()).nanos += now - serializeStartNanos;
+        }
+        phases.computeIfAbsent("total", name -> new Phase()).nanos = now - startNanos;
+    }
+
+    /**
+     * `Server-Timing` 헤더 값을 만듭니다. (예: `lookup;dur=0.8, page;dur=12.3;desc="rows=20", total;dur=55.1`)
+     */
+    public String toHeaderValue() {
+        StringBuilder sb = new StringBuilder();
+        phases.forEach((name, phase) -> {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", phase.nanos / 1_000_000.0));
+            if (phase.rows > 0) {
+                sb.append(";desc=\"rows=").append(phase.rows).append('"');
+            }
+        });
+        return sb.toString();
+    }
+
+    /** 단계별 소요 시간(ms)과 행 수를 디버그 응답용 Map으로 반환합니다. */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("ms", Math.round(phase.nanos / 100_000.0) / 10.0);
+            if (phase.rows > 0) {
+                entry.put("rows", phase.rows);
+            }
+            result.put(name, entry);
+        });
+        return result;
+    }
+
+    private static class Phase {
+        long nanos;
+        long rows;
+    }
+}
@@ -0,0 +1,181 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.BudgetOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동적 쿼리 결과를 메모리에 올릴 때의 한도를 관리하는 컴포넌트.
+ * 행을 읽는 도중에 행 수와 추정 크기를 세어, 요청당 한도(`max-rows`, `max-bytes`)를 넘으면 즉시 읽기를 중단하고
+ * 해당 요청만 실패시킵니다. 또한 모든 요청이 동시에 읽고 있는 결과의 추정 크기 합계가 `max-total-bytes`를 넘으면
+ * 새로 읽는 요청을 503으로 거절하여, 큰 결과 여러 개가 겹쳐 JVM 메모리가 부족해지는 것을 막습니다.
+ * 서비스별 한도는 `monarch.services[n].budget`으로 지정합니다.
+ * 전역 한도의 예약은 결과를 다 읽은 시점이 아니라 HTTP 응답 작성(JSON 변환)이 끝날 때 해제됩니다.
+ * (요청 밖의 백그라운드 조회는 결과를 다 읽은 즉시 해제)
+ */
+@Component
+public class ResultBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultBudget.class);
+    /** 전역 한도에서 한 번에 예약하는 크기. 행마다 공유 카운터를 갱신하지 않도록 묶어서 예약합니다. */
+    private static final long RESERVE_CHUNK = 1024 * 1024;
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final String RELEASE_CALLBACK_PREFIX = ResultBudget.class.getName() + ".release.";
+
+    private final ServiceOptionsProperties serviceOptionsProperties;
+    private final long defaultMaxRows;
+    private final long defaultMaxBytes;
+    private final long maxTotalBytes;
+    private final AtomicLong reservedBytes = new AtomicLong();
+    private final AtomicLong peakReservedBytes = new AtomicLong();
+    private final AtomicLong aborted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    /** 요청 완료 콜백 이름을 구분하기 위한 번호 (한 요청에서 여러 번 조회할 수 있음) */
+    private final AtomicLong reservationSequence = new AtomicLong();
+
+    public ResultBudget(ServiceOptionsProperties serviceOptionsProperties,
+                        @Value("${monarch.result-budget.max-rows:100000}") long defaultMaxRows,
+                        @Value("${monarch.result-budget.max-bytes:64MB}") DataSize defaultMaxBytes,
+                        @Value("${monarch.result-budget.max-total-bytes:512MB}") DataSize maxTotalBytes) {
+        this.serviceOptionsProperties = serviceOptionsProperties;
+        this.defaultMaxRows = defaultMaxRows;
+        this.defaultMaxBytes = defaultMaxBytes.toBytes();
+        this.maxTotalBytes = maxTotalBytes.toBytes();
+    }
+
+    /**
+     * 한도를 확인하면서 쿼리 결과를 행 목록으로 읽습니다.
+     * @throws ResultTooLargeException 요청당 행 수 또는 추정 크기 한도를 넘었을 때
+     * @throws ServiceUnavailableException 전체 요청이 읽고 있는 결과의 크기 합계가 전역 한도를 넘었을 때
+     */
+    public List<Map<String, Object>> query(NamedParameterJdbcTemplate jdbcTemplate, String sql, MapSqlParameterSource parameters,
+                                           RowMapper<Map<String, Object>> rowMapper, String serviceName, String methodName) {
+        BudgetOptions budget = serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getBudget)
+                .orElse(null);
+        long maxRows = budget != null && budget.getMaxRows() != null ? budget.getMaxRows() : defaultMaxRows;
+        long maxBytes = budget != null && budget.getMaxBytes() != null ? budget.getMaxBytes().toBytes() : defaultMaxBytes;
+
+        Reservation reservation = new Reservation();
+        boolean completed = false;
+        try {
+            List<Map<String, Object>> result = jdbcTemplate.query(sql, parameters, rs -> {
+                List<Map<String, Object>> rows = new ArrayList<>();
+                long bytes = 0;
+                int rowNum = 0;
+                while (rs.next()) {
+                    Map<String, Object> row = rowMapper.mapRow(rs, rowNum++);
+                    rows.add(row);
+                    bytes += estimateSize(row);
+                    if (rows.size() > maxRows || bytes > maxBytes) {
+                        aborted.incrementAndGet();
+                        log.warn("Result of {}.{} exceeded the memory budget (rows > {} or bytes > {}). Aborted after {} rows.",
+                                serviceName, methodName, maxRows, maxBytes, rows.size());
+                        throw new ResultTooLargeException("Result of " + serviceName + "." + methodName
+                                + " exceeds the limit of " + maxRows + " rows / " + DataSize.ofBytes(maxBytes).toMegabytes()
+                                + "MB. Add search conditions, or use a LIST service with paging or _snapshot=new"
+                                + " to read large results from a server-side snapshot file.", rows.size());
+                    }
+                    reservation.ensure(bytes);
+                }
+                return rows;
+            });
+            completed = true;
+            releaseAfterResponse(reservation);
+            return result;
+        } finally {
+            if (!completed) {
+                reservation.release();
+            }
+        }
+    }
+
+    /**
+     * 읽은 행은 JSON으로 변환되어 응답이 작성될 때까지 힙에 남으므로, 요청 처리 중이면 요청이 끝날 때 예약을 해제합니다.
+     * (요청 병합으로 결과를 공유받는 요청도 먼저 실행한 요청의 응답이 끝날 때까지 같은 행을 함께 참조합니다)
+     */
+    private void releaseAfterResponse(Reservation reservation) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null || reservation.reserved == 0) {
+            reservation.release();
+            return;
+        }
+        requestAttributes.registerDestructionCallback(RELEASE_CALLBACK_PREFIX + reservationSequence.incrementAndGet(),
+                reservation::release, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * 전역 한도 사용량과 누적 중단/거절 건수를 반환합니다.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("maxRows", defaultMaxRows);
+        status.put("maxBytes", defaultMaxBytes);
+        status.put("maxTotalBytes", maxTotalBytes);
+        status.put("reservedBytes", reservedBytes.get());
+        status.put("peakReservedBytes", peakReservedBytes.get());
+        status.put("aborted", aborted.get());
+        status.put("rejected", rejected.get());
+        return status;
+    }
+
+    /**
+     * 행 하나가 차지하는 힙 크기를 대략 추정합니다. (Map 항목, 컬럼명, 값 객체 포함)
+     */
+    static long estimateSize(Map<String, Object> row) {
+        long size = 64;
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            size += 48 + 40 + 2L * entry.getKey().length();
+            Object value = entry.getValue();
+            if (value instanceof CharSequence text) {
+                size += 40 + 2L * text.length();
+            } else if (value instanceof byte[] bytes) {
+                size += 16 + bytes.length;
+            } else if (value instanceof Map<?, ?> map) {
+                size += 64 + 96L * map.size();
+            } else if (value != null) {
+                size += 32;
+            }
+        }
+        return size;
+    }
+
+    /** 요청 하나가 전역 한도에서 예약한 크기 */
+    private class Reservation {
+
+        long reserved;
+
+        void ensure(long bytes) {
+            while (bytes > reserved) {
+                long total = reservedBytes.addAndGet(RESERVE_CHUNK);
+                reserved += RESERVE_CHUNK;
+                peakReservedBytes.accumulateAndGet(total, Math::max);
+                if (total > maxTotalBytes) {
+                    rejected.incrementAndGet();
+                    throw new ServiceUnavailableException("Server is materializing too many large results. Try again later.",
+                            RETRY_AFTER_SECONDS);
+                }
+            }
+        }
+
+        synchronized void release() {
+            reservedBytes.addAndGet(-reserved);
+            reserved = 0;
+        }
+    }
+}
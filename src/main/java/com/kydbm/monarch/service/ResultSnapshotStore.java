@@ -0,0 +1,550 @@
+package com.kydbm.monarch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LIST 조회 결과 전체를 로컬 디스크의 이진 파일로 한 번 저장(spill)해 두고,
+ * 이후의 페이지 이동, 정렬 변경, 건수 조회를 그 파일에서 필요한 행만 읽어(positional read) 처리하는 저장소.
+ * 클라이언트가 `_snapshot=new`로 요청하면 만들어지며, 응답의 `snapshotId`를 `_snapshot`으로 다시 보내면
+ * DB를 거치지 않고 같은 시점의 결과로 응답합니다. (페이지를 넘기는 동안 행이 밀리지 않습니다.)
+ * 마지막 사용 후 `monarch.result-snapshot.ttl`이 지나면 삭제되며, 전체 파일 크기는 디스크 한도를 넘지 않도록
+ * 오래 사용하지 않은 스냅샷부터 삭제합니다.
+ * 삭제된 스냅샷을 읽고 있는 요청이 있으면 그 요청이 끝난 뒤에 파일을 닫고 지우며, 파일이 실제로 지워질 때까지 디스크 사용량에 포함합니다.
+ */
+@Component
+public class ResultSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultSnapshotStore.class);
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DECIMAL = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_TIMESTAMP = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_BYTES = 7;
+
+    /** 정렬 순서를 계산할 때 한 번에 읽는 크기 */
+    private static final int READ_CHUNK_BYTES = 1024 * 1024;
+
+    private final long ttlMillis;
+    private final int maxRows;
+    private final long maxFileBytes;
+    private final long maxTotalBytes;
+    private final Path spillDir;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    /** 삭제하지 못해 다음 정리 주기에 다시 삭제할 파일과 그 크기 */
+    private final Map<Path, Long> pendingDeletes = new ConcurrentHashMap<>();
+
+    public ResultSnapshotStore(@Value("${monarch.result-snapshot.ttl:10m}") Duration ttl,
+                               @Value("${monarch.result-snapshot.max-rows:500000}") int maxRows,
+                               @Value("${monarch.result-snapshot.max-file-size:256MB}") DataSize maxFileSize,
+                               @Value("${monarch.result-snapshot.max-total-size:2GB}") DataSize maxTotalSize,
+                               @Value("${monarch.result-snapshot.dir:${java.io.tmpdir}/monarch-snapshot}") String spillDir) throws IOException {
+        this.ttlMillis = ttl.toMillis();
+        this.maxRows = maxRows;
+        // 행 위치를 int로 저장하므로 파일은 2GB를 넘을 수 없습니다.
+        this.maxFileBytes = Math.min(maxFileSize.toBytes(), Integer.MAX_VALUE);
+        this.maxTotalBytes = maxTotalSize.toBytes();
+        this.spillDir = Files.createDirectories(Path.of(spillDir));
+    }
+
+    /** 스냅샷으로 저장할 수 있는 최대 행 수 */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * 조회 결과를 파일로 저장하는 작성기를 만듭니다. 쿼리의 RowCallbackHandler로 전달하여 한 행씩 기록하므로
+     * 전체 결과를 메모리에 올리지 않습니다.
+     * @param serviceKey "회원사번호:서비스명.메소드명" (스냅샷을 만든 서비스 외에는 사용할 수 없습니다)
+     * @param sort 쿼리에 적용된 정렬 조건 (정규화된 ORDER BY 내용, 없으면 빈 문자열)
+     */
+    public SnapshotWriter newWriter(String serviceKey, String sort) {
+        try {
+            return new SnapshotWriter(serviceKey, sort, Files.createTempFile(spillDir, "result-", ".bin"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create snapshot file", e);
+        }
+    }
+
+    /**
+     * 스냅샷에서 한 페이지를 읽습니다.
+     * @param snapshotId 스냅샷 ID
+     * @param serviceKey 요청한 서비스 키 (스냅샷을 만든 서비스와 같아야 합니다)
+     * @param page 페이지 번호 (1부터)
+     * @param size 페이지 크기
+     * @param sort 정규화된 정렬 조건 (예: "CUST_NAME ASC, REG_DATE DESC"), 비어 있으면 만들 때의 순서
+     * @return LIST 결과 형식의 응답. 스냅샷이 없거나 만료되었으면 빈 값
+     * @throws InvalidParameterException 정렬 조건에 스냅샷에 없는 컬럼이 있을 때
+     */
+    public Optional<List<Map<String, Object>>> page(String snapshotId, String serviceKey, int page, int size, String sort) {
+        Snapshot snapshot = snapshots.get(snapshotId);
+        if (snapshot == null || !snapshot.serviceKey.equals(serviceKey) || !Objects.equals(snapshot.owner, currentUserId())) {
+            return Optional.empty();
+        }
+        // 읽는 동안 삭제(만료/디스크 한도)되더라도 파일은 읽기가 끝난 뒤에 닫힙니다.
+        if (!snapshot.acquire()) {
+            return Optional.empty();
+        }
+        try {
+            snapshot.lastAccessAt = System.currentTimeMillis();
+            return Optional.of(snapshot.toResponse(page, size, sort));
+        } finally {
+            release(snapshot);
+        }
+    }
+
+    /**
+     * 마지막 사용 후 ttl이 지난 스냅샷을 삭제하고, 이전에 삭제하지 못한 파일을 다시 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.result-snapshot.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        snapshots.values().stream()
+                .filter(snapshot -> now - snapshot.lastAccessAt >= ttlMillis)
+                .map(snapshot -> snapshot.snapshotId)
+                .toList()
+                .forEach(this::remove);
+        pendingDeletes.forEach((path, bytes) -> {
+            if (deleteQuietly(path) && pendingDeletes.remove(path, bytes)) {
+                totalBytes.addAndGet(-bytes);
+            }
+        });
+    }
+
+    /**
+     * 스냅샷 수와 디스크 사용량을 반환합니다. (관리자 화면용)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("snapshots", snapshots.size());
+        status.put("totalBytes", totalBytes.get());
+        status.put("maxTotalBytes", maxTotalBytes);
+        status.put("pendingDeletes", pendingDeletes.size());
+        return status;
+    }
+
+    private void register(Snapshot snapshot) {
+        // 디스크 한도를 넘으면 오래 사용하지 않은 스냅샷부터 삭제합니다.
+        long needed = totalBytes.addAndGet(snapshot.fileBytes) - maxTotalBytes;
+        if (needed > 0) {
+            List<Snapshot> candidates = new ArrayList<>(snapshots.values());
+            candidates.sort(Comparator.comparingLong(s -> s.lastAccessAt));
+            for (Snapshot candidate : candidates) {
+                if (needed <= 0) {
+                    break;
+                }
+                remove(candidate.snapshotId);
+                needed -= candidate.fileBytes;
+            }
+        }
+        snapshots.put(snapshot.snapshotId, snapshot);
+    }
+
+    /** 저장소에서 스냅샷을 뺍니다. 파일은 읽고 있는 요청이 모두 끝나면 닫고 삭제합니다. */
+    private void remove(String snapshotId) {
+        Snapshot snapshot = snapshots.remove(snapshotId);
+        if (snapshot != null) {
+            release(snapshot);
+        }
+    }
+
+    private void release(Snapshot snapshot) {
+        if (!snapshot.release()) {
+            return;
+        }
+        try {
+            snapshot.channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close snapshot file {}: {}", snapshot.path, e.getMessage());
+        }
+        if (deleteQuietly(snapshot.path)) {
+            totalBytes.addAndGet(-snapshot.fileBytes);
+        } else {
+            pendingDeletes.put(snapshot.path, snapshot.fileBytes);
+        }
+    }
+
+    /** @return 파일이 삭제되었거나 이미 없으면 true */
+    private static boolean deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete snapshot file {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    /**
+     * 조회 결과를 한 행씩 파일에 기록하는 작성기.
+     * 행 수나 파일 크기가 한도를 넘으면 기록을 멈추고, `finish()`에서 빈 값을 반환합니다.
+     */
+    public class SnapshotWriter implements RowCallbackHandler {
+
+        private final String serviceKey;
+        private final String sort;
+        private final Path path;
+        private final DataOutputStream out;
+        private String[] columns;
+        private int[] offsets = new int[1024];
+        private int rowCount;
+        private boolean overflow;
+
+        SnapshotWriter(String serviceKey, String sort, Path path) throws IOException {
+            this.serviceKey = serviceKey;
+            this.sort = sort;
+            this.path = path;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (overflow) {
+                return;
+            }
+            if (columns == null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                columns = new String[metaData.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+                }
+            }
+            if (rowCount >= maxRows || out.size() >= maxFileBytes) {
+                overflow = true;
+                return;
+            }
+            if (rowCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[rowCount++] = out.size();
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    writeValue(out, JdbcUtils.getResultSetValue(rs, i + 1));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write snapshot row", e);
+            }
+        }
+
+        /**
+         * 기록을 마치고 스냅샷을 등록합니다.
+         * @return 한도를 넘어 저장하지 못했으면 빈 값
+         */
+        public Optional<String> finish() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                deleteQuietly(path);
+                throw new UncheckedIOException("Failed to close snapshot file", e);
+            }
+            if (overflow || out.size() > maxFileBytes) {
+                deleteQuietly(path);
+                log.info("Result for {} is too large to snapshot ({} rows or more). Falling back to paged queries.", serviceKey, rowCount);
+                return Optional.empty();
+            }
+            try {
+                Snapshot snapshot = new Snapshot(UUID.randomUUID().toString(), serviceKey, currentUserId(), sort, path,
+                        columns != null ? columns : new String[0], Arrays.copyOf(offsets, rowCount));
+                register(snapshot);
+                return Optional.of(snapshot.snapshotId);
+            } catch (IOException e) {
+                deleteQuietly(path);
+                throw new UncheckedIOException("Failed to open snapshot file", e);
+            }
+        }
+
+        /** 쿼리가 실패했을 때 임시 파일을 정리합니다. */
+        public void discard() {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // 삭제할 파일이므로 무시합니다.
+            }
+            deleteQuietly(path);
+        }
+    }
+
+    /**
+     * 파일로 저장된 조회 결과 하나. 파일 내용은 바뀌지 않고 위치 지정 읽기만 사용하므로 여러 스레드에서 잠금 없이 읽을 수 있습니다.
+     * 행 위치(offsets)만 메모리에 두고, 값은 요청된 페이지의 행만 파일에서 읽습니다.
+     * 참조 수(refs)는 저장소에 등록된 것 1과 읽고 있는 요청 수의 합이며, 0이 되면 파일을 닫고 삭제합니다.
+     */
+    private static class Snapshot {
+
+        final String snapshotId;
+        final String serviceKey;
+        final String owner;
+        final String sort;
+        final Path path;
+        final String[] columns;
+        final int[] offsets;
+        final long fileBytes;
+        final FileChannel channel;
+        final AtomicInteger refs = new AtomicInteger(1);
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastAccessAt = createdAt;
+        /** 정렬 조건별 행 순서. 키: 정규화된 정렬 조건 */
+        final Map<String, int[]> sortedOrders = new ConcurrentHashMap<>();
+
+        Snapshot(String snapshotId, String serviceKey, String owner, String sort, Path path,
+                 String[] columns, int[] offsets) throws IOException {
+            this.snapshotId = snapshotId;
+            this.serviceKey = serviceKey;
+            this.owner = owner;
+            this.sort = sort;
+            this.path = path;
+            this.columns = columns;
+            this.offsets = offsets;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                this.fileBytes = channel.size();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /** 읽기 전에 호출합니다. 이미 삭제된 스냅샷이면 false */
+        boolean acquire() {
+            while (true) {
+                int current = refs.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (refs.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /** @return 마지막 참조였으면 true (파일을 닫고 삭제해야 함) */
+        boolean release() {
+            return refs.decrementAndGet() == 0;
+        }
+
+        List<Map<String, Object>> toResponse(int page, int size, String requestedSort) {
+            String normalizedSort = requestedSort == null ? "" : requestedSort;
+            int[] order = normalizedSort.isEmpty() || normalizedSort.equals(sort)
+                    ? null
+                    : sortedOrders.computeIfAbsent(normalizedSort, this::sortOrder);
+
+            int start = Math.max(0, (page - 1) * size);
+            int end = Math.min(offsets.length, start + size);
+            List<Map<String, Object>> data = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                data.add(readRow(order != null ? order[i] : i));
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("data", data);
+            result.put("totalCount", offsets.length);
+            result.put("snapshotId", snapshotId);
+            result.put("snapshotAt", createdAt);
+            return List.of(result);
+        }
+
+        Map<String, Object> readRow(int rowIdx) {
+            return readRow(readRows(rowIdx, rowIdx + 1));
+        }
+
+        Map<String, Object> readRow(ByteBuffer in) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : columns) {
+                row.put(column, readValue(in));
+            }
+            return row;
+        }
+
+        /** fromRow 부터 toRow 전까지 연속된 행을 파일에서 읽습니다. */
+        ByteBuffer readRows(int fromRow, int toRow) {
+            long position = offsets[fromRow];
+            long end = toRow < offsets.length ? offsets[toRow] : fileBytes;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - position));
+            try {
+                while (buffer.hasRemaining()) {
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new EOFException("Unexpected end of snapshot file " + path);
+                    }
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read snapshot file", e);
+            }
+            return buffer.flip();
+        }
+
+        /** 정렬 컬럼 값만 읽어 행 순서를 계산합니다. Oracle과 같이 NULL은 오름차순에서 마지막에 둡니다. */
+        int[] sortOrder(String sortSpec) {
+            List<int[]> keys = new ArrayList<>();
+            for (String part : sortSpec.split(",")) {
+                String[] tokens = part.trim().split("\\s+");
+                int columnIdx = Arrays.asList(columns).indexOf(tokens[0]);
+                if (columnIdx < 0) {
+                    throw new InvalidParameterException("_sort", "Unknown sort column: " + tokens[0]);
+                }
+                boolean desc = tokens.length > 1 && "DESC".equals(tokens[1]);
+                keys.add(new int[]{columnIdx, desc ? -1 : 1});
+            }
+
+            Object[][] values = new Object[offsets.length][];
+            for (int from = 0; from < offsets.length; ) {
+                int to = from + 1;
+                while (to < offsets.length && offsets[to] - offsets[from] < READ_CHUNK_BYTES) {
+                    to++;
+                }
+                ByteBuffer chunk = readRows(from, to);
+                for (int i = from; i < to; i++) {
+                    Map<String, Object> row = readRow(chunk);
+                    values[i] = new Object[keys.size()];
+                    for (int k = 0; k < keys.size(); k++) {
+                        values[i][k] = row.get(columns[keys.get(k)[0]]);
+                    }
+                }
+                from = to;
+            }
+
+            Integer[] order = new Integer[offsets.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                for (int k = 0; k < keys.size(); k++) {
+                    int cmp = compareValues(values[a][k], values[b][k]) * keys.get(k)[1];
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                }
+                return Integer.compare(a, b);
+            });
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compareValues(Object a, Object b) {
+            if (a == null || b == null) {
+                return a == null ? (b == null ? 0 : 1) : -1;
+            }
+            if (a instanceof Number na && b instanceof Number nb) {
+                return new BigDecimal(na.toString()).compareTo(new BigDecimal(nb.toString()));
+            }
+            if (a instanceof Comparable ca && a.getClass() == b.getClass()) {
+                return ca.compareTo(b);
+            }
+            return a.toString().compareTo(b.toString());
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            // Oracle NUMBER는 대부분 정수이므로, 정수로 표현되면 8바이트로 저장합니다.
+            if (decimal.scale() <= 0 && decimal.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0
+                    && decimal.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) >= 0) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(decimal.longValueExact());
+            } else {
+                out.writeByte(TYPE_DECIMAL);
+                writeBytes(out, decimal.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+        } else if (value instanceof BigInteger integer) {
+            out.writeByte(TYPE_DECIMAL);
+            writeBytes(out, integer.toString().getBytes(StandardCharsets.US_ASCII));
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof java.util.Date date) {
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(date.getTime());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(TYPE_BYTES);
+            writeBytes(out, bytes);
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        byte type = in.get();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_LONG -> in.getLong();
+            case TYPE_DECIMAL -> new BigDecimal(new String(readBytes(in), StandardCharsets.US_ASCII));
+            case TYPE_DOUBLE -> in.getDouble();
+            case TYPE_TIMESTAMP -> new Timestamp(in.getLong());
+            case TYPE_BOOLEAN -> in.get() != 0;
+            case TYPE_BYTES -> readBytes(in);
+            case TYPE_STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Corrupted snapshot file (type " + type + ")");
+        };
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return bytes;
+    }
+}
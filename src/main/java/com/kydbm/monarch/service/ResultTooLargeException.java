@@ -0,0 +1,20 @@
+package com.kydbm.monarch.service;
+
+/**
+ * 조회 결과가 요청당 메모리 한도(행 수 또는 추정 크기)를 넘어 읽기를 중단했을 때 발생하는 예외.
+ * 조건이 빠진 조회 하나가 전체 서버의 메모리를 소진하지 않도록, 해당 요청만 실패시킵니다.
+ */
+public class ResultTooLargeException extends RuntimeException {
+
+    /** 중단 시점까지 읽은 행 수 */
+    private final long rowsRead;
+
+    public ResultTooLargeException(String message, long rowsRead) {
+        super(message);
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+}
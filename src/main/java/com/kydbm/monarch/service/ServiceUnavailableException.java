@@ -0,0 +1,20 @@
+package com.kydbm.monarch.service;
+
+/**
+ * 요청한 서비스 메소드를 지금 실행할 수 없을 때 발생하는 예외.
+ * 서킷 브레이커가 열려 있거나 동시 실행 허용 수를 초과한 경우, DB에 부담을 주지 않고 즉시 실패시키기 위해 사용합니다.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /** 클라이언트가 재시도하기까지 기다려야 하는 시간 (초) */
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kydbm.monarch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동적 쿼리 실행 로그를 표본(sampling) 추출하여 남기는 컴포넌트.
+ * 모든 요청마다 SQL 전문을 문자열로 이어 붙여 기록하는 대신,
+ * N건 중 1건 또는 느린 쿼리만 구조화된 필드(key-value)로 기록하여 로깅 비용을 줄입니다.
+ * 파라미터 값은 기록하지 않고 이름만 남깁니다.
+ */
+@Component
+public class SqlLogSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlLogSampler.class);
+    private static final String REDACTED = "***";
+
+    /** N건 중 1건을 기록합니다. 1이면 모두 기록, 0이면 느린 쿼리만 기록합니다. */
+    private final int sampleRate;
+    /** 이 시간 이상 걸린 쿼리는 표본 추출과 관계없이 항상 WARN으로 기록합니다. */
+    private final long slowThresholdNanos;
+    private final AtomicLong counter = new AtomicLong();
+
+    public SqlLogSampler(@Value("${monarch.logging.sql.sample-rate:1}") int sampleRate,
+                         @Value("${monarch.logging.sql.slow-threshold:1s}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * 쿼리 실행 결과를 기록 대상이면 로그로 남깁니다.
+     * @param execType 실행 타입 (READ, LIST, INSERT ...)
+     * @param sql 실행된 쿼리문 (바인드 변수 형태)
+     * @param queryParams 요청 파라미터 (값은 기록하지 않음)
+     * @param elapsedNanos 실행 소요 시간
+     * @param result 실행 결과 (행 수 산출용)
+     */
+    public void logExecution(String serviceName, String methodName, String execType, String sql,
+                             Map<String, Object> queryParams, long elapsedNanos, List<Map<String, Object>> result) {
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        boolean sampled = sampleRate > 0 && counter.getAndIncrement() % sampleRate == 0;
+        if (!slow && !(sampled && log.isInfoEnabled())) {
+            return;
+        }
+
+        long elapsedMs = elapsedNanos / 1_000_000;
+        long rows = countRows(result);
+        (slow ? log.atWarn() : log.atInfo())
+                .setMessage("Executed dynamic query {}.{} ({}) in {} ms, rows={}")
+                .addArgument(serviceName)
+                .addArgument(methodName)
+                .addArgument(execType)
+                .addArgument(elapsedMs)
+                .addArgument(rows)
+                .addKeyValue("service", serviceName)
+                .addKeyValue("method", methodName)
+                .addKeyValue("execType", execType)
+                .addKeyValue("elapsedMs", elapsedMs)
+                .addKeyValue("rows", rows)
+                .addKeyValue("slow", slow)
+                .addKeyValue("params", redact(queryParams))
+                .addKeyValue("sql", sql)
+                .log();
+    }
+
+    /**
+     * 파라미터 값을 가린 사본을 반환합니다. 페이징/정렬 같은 제어용 파라미터(`_`로 시작)만 값을 그대로 둡니다.
+     * @param queryParams 요청 파라미터
+     * @return 값이 가려진 파라미터 Map
+     */
+    public static Map<String, Object> redact(Map<String, Object> queryParams) {
+        Map<String, Object> redacted = new LinkedHashMap<>();
+        if (queryParams != null) {
+            queryParams.forEach((key, value) -> redacted.put(key, key.startsWith("_") ? value : REDACTED));
+        }
+        return redacted;
+    }
+
+    private static long countRows(List<Map<String, Object>> result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result.size() == 1) {
+            Map<String, Object> first = result.get(0);
+            if (first.get("data") instanceof List<?> data) {
+                return data.size();
+            }
+            if (first.get("affectedRows") instanceof Number affectedRows) {
+                return affectedRows.longValue();
+            }
+        }
+        return result.size();
+    }
+}
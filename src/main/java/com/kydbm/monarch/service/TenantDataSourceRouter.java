@@ -0,0 +1,193 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.TenantShardProperties;
+import com.kydbm.monarch.config.TenantShardProperties.ShardOptions;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 회원사(M_USITE_NO)별로 업무 데이터를 조회할 DB(shard)를 선택하는 컴포넌트.
+ * shard마다 별도의 커넥션 풀과 트랜잭션 관리자를 두며, shard가 지정되지 않은 회원사는 기본 데이터소스를 사용합니다.
+ * M_SERVICE, M_STRUCTURE 등 메타데이터 조회(MyBatis/JPA)는 이 라우터를 거치지 않고 항상 기본 데이터소스에서 처리됩니다.
+ * 연결 상태 확인에 실패한 shard로 가는 요청은 커넥션 대기 없이 즉시 거절(503)합니다.
+ */
+@Component
+public class TenantDataSourceRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantDataSourceRouter.class);
+    private static final String DEFAULT_SHARD = "default";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final TenantShardProperties properties;
+    private final TenantDataAccess defaultAccess;
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final long retryAfterSeconds;
+
+    public TenantDataSourceRouter(TenantShardProperties properties, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${spring.jdbc.template.query-timeout:0s}") Duration queryTimeout,
+                                  @Value("${monarch.tenancy.health-check-interval:30000}") long healthCheckIntervalMillis) {
+        this.properties = properties;
+        this.defaultAccess = new TenantDataAccess(DEFAULT_SHARD, namedParameterJdbcTemplate, transactionTemplate);
+        this.retryAfterSeconds = Math.max(1, healthCheckIntervalMillis / 1000);
+
+        properties.getShards().forEach((name, options) -> shards.put(name, new Shard(name, options, queryTimeout)));
+        properties.getUsites().forEach((usiteNo, shardName) -> {
+            if (!shards.containsKey(shardName)) {
+                throw new IllegalStateException("Unknown shard '" + shardName + "' for usite " + usiteNo);
+            }
+        });
+        if (!shards.isEmpty()) {
+            log.info("Tenant shards configured: {} ({} usites mapped)", shards.keySet(), properties.getUsites().size());
+        }
+    }
+
+    /**
+     * 회원사의 업무 데이터를 조회할 JdbcTemplate과 TransactionTemplate을 반환합니다.
+     * @param usiteNo 회원사 번호 (M_USITE_NO)
+     * @return 회원사에 지정된 shard의 데이터 접근 객체 (지정되지 않았으면 기본 데이터소스)
+     * @throws ServiceUnavailableException shard가 연결 불가 상태일 때
+     */
+    public TenantDataAccess forTenant(Long usiteNo) {
+        String shardName = usiteNo != null ? properties.getUsites().get(usiteNo) : null;
+        if (shardName == null) {
+            return defaultAccess;
+        }
+        Shard shard = shards.get(shardName);
+        if (!shard.healthy) {
+            throw new ServiceUnavailableException("Database shard '" + shardName + "' is unavailable.", retryAfterSeconds);
+        }
+        return shard.access;
+    }
+
+    /**
+     * shard별로 커넥션을 얻어 유효한지 확인합니다.
+     * 실패한 shard는 다음 확인에서 성공할 때까지 요청을 즉시 거절합니다.
+     * 커넥션 풀이 아니라 확인용으로 새로 연결한 커넥션을 사용하므로, 풀이 모두 사용 중이어서 커넥션을 기다려야 하는 경우는
+     * 장애로 판단하지 않습니다. (실제로 DB에 연결할 수 없을 때만 거절)
+     */
+    @Scheduled(fixedDelayString = "${monarch.tenancy.health-check-interval:30000}")
+    public void checkHealth() {
+        for (Shard shard : shards.values()) {
+            boolean healthy;
+            String error = null;
+            try (Connection connection = shard.probeDataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (Exception e) {
+                healthy = false;
+                error = e.getMessage();
+            }
+            if (shard.healthy != healthy) {
+                if (healthy) {
+                    log.info("Database shard '{}' is available again.", shard.name);
+                } else {
+                    log.warn("Database shard '{}' is unavailable: {}", shard.name, error);
+                }
+            }
+            shard.healthy = healthy;
+            shard.lastError = error;
+            shard.lastCheckedAt = Instant.now();
+        }
+    }
+
+    /**
+     * shard별 연결 상태와 커넥션 풀 사용 현황을 반환합니다.
+     */
+    public List<Map<String, Object>> getShardStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Shard shard : shards.values()) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("shard", shard.name);
+            status.put("usiteNos", properties.getUsites().entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(shard.name))
+                    .map(Map.Entry::getKey)
+                    .toList());
+            status.put("healthy", shard.healthy);
+            status.put("lastCheckedAt", shard.lastCheckedAt);
+            status.put("lastError", shard.lastError);
+            status.put("maximumPoolSize", shard.dataSource.getMaximumPoolSize());
+            HikariPoolMXBean pool = shard.dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                status.put("activeConnections", pool.getActiveConnections());
+                status.put("idleConnections", pool.getIdleConnections());
+                status.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+            }
+            result.add(status);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void close() {
+        shards.values().forEach(shard -> shard.dataSource.close());
+    }
+
+    /**
+     * shard 하나의 업무 데이터 접근 객체.
+     * @param shard shard 이름 (기본 데이터소스는 "default")
+     * @param jdbcTemplate 업무 쿼리 실행용 JdbcTemplate
+     * @param transactionTemplate 이 shard의 커넥션으로 트랜잭션을 묶는 TransactionTemplate
+     */
+    public record TenantDataAccess(String shard, NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    }
+
+    /** 커넥션 풀과 연결 상태를 가진 shard 하나 */
+    private static class Shard {
+
+        final String name;
+        final HikariDataSource dataSource;
+        /** 연결 상태 확인용 데이터소스 (풀을 사용하지 않고 확인할 때마다 새로 연결) */
+        final DriverManagerDataSource probeDataSource;
+        final TenantDataAccess access;
+        volatile boolean healthy = true;
+        volatile String lastError;
+        volatile Instant lastCheckedAt;
+
+        Shard(String name, ShardOptions options, Duration queryTimeout) {
+            this.name = name;
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + name);
+            config.setJdbcUrl(options.getUrl());
+            config.setUsername(options.getUsername());
+            config.setPassword(options.getPassword());
+            config.setMaximumPoolSize(options.getMaximumPoolSize());
+            config.setMinimumIdle(options.getMinimumIdle());
+            config.setConnectionTimeout(options.getConnectionTimeout().toMillis());
+            options.getDataSourceProperties().forEach(config::addDataSourceProperty);
+            // 기동 시 shard에 연결할 수 없어도 애플리케이션은 시작하고, 연결 상태 확인에서 복구를 기다립니다.
+            config.setInitializationFailTimeout(-1);
+            this.dataSource = new HikariDataSource(config);
+
+            this.probeDataSource = new DriverManagerDataSource(options.getUrl(), options.getUsername(), options.getPassword());
+            Properties probeProperties = new Properties();
+            probeProperties.putAll(options.getDataSourceProperties());
+            this.probeDataSource.setConnectionProperties(probeProperties);
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout((int) queryTimeout.toSeconds());
+            this.access = new TenantDataAccess(name, new NamedParameterJdbcTemplate(jdbcTemplate),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+    }
+}
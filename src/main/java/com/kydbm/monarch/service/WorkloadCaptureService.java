@@ -0,0 +1,215 @@
+package com.kydbm.monarch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 운영 중인 `/api/data/execute` 조회 요청을 파일로 기록(capture)하는 서비스.
+ * 서비스/메소드/회원사, 값이 가려진 파라미터, 응답 시간을 한 줄에 하나씩 JSON으로 파일 끝에 추가하며,
+ * 조회(READ/LIST)로 확인된 서비스만 기록합니다.
+ * 기록한 파일은 `tool.WorkloadReplay`로 로컬 인스턴스에 다시 실행하여 변경 전후의 응답 시간 분포를 비교하는 데 사용합니다.
+ * 요청 스레드는 메모리 대기열에 넣기만 하고, 파일 쓰기는 주기 작업이 모아서 수행합니다. (대기열이 가득 차면 버림)
+ */
+@Service
+public class WorkloadCaptureService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadCaptureService.class);
+    /** 날짜로 보이는 값 (yyyy-MM-dd, yyyyMMdd, 시각 포함) */
+    private static final Pattern DATE_PATTERN = Pattern.compile("^\\d{4}[-/.]?\\d{2}[-/.]?\\d{2}([ T].*)?$");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("^[-+]?\\d+(\\.\\d+)?$");
+    /** 날짜 값을 가릴 때 자리마다 대신 넣는 숫자 (1970-01-01 00:00:00.000) */
+    private static final String DATE_MASK_DIGITS = "19700101000000000";
+    /** 요청 파라미터 중 기록 항목으로 따로 저장되어 params 에서 제외되는 이름 */
+    private static final Set<String> ROUTING_PARAMS = Set.of("serviceName", "methodName", "usiteNo", "_timing");
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final long maxFileSize;
+    /** 값을 그대로 기록할 파라미터 (코드, 기간 등 민감하지 않으면서 실행 계획에 영향을 주는 값) */
+    private final Set<String> keepParams;
+    private final BlockingQueue<String> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean enabled;
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    public WorkloadCaptureService(ObjectMapper objectMapper,
+                                  @Value("${monarch.capture.enabled:false}") boolean enabled,
+                                  @Value("${monarch.capture.file:${java.io.tmpdir}/monarch-capture.jsonl}") String file,
+                                  @Value("${monarch.capture.max-file-size:512MB}") DataSize maxFileSize,
+                                  @Value("${monarch.capture.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${monarch.capture.keep-params:}") Set<String> keepParams) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.file = Paths.get(file);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.keepParams = keepParams;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 기록을 시작하거나 중지합니다. (재기동 없이 운영 중 필요한 시간만 기록할 때 사용) */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.info("Workload capture {} ({})", enabled ? "started" : "stopped", file);
+        if (!enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * 요청 하나를 기록 대기열에 넣습니다.
+     * @param startedAt 요청 시작 시각 (epoch ms, 재실행 시 요청 간격 계산에 사용)
+     * @param requestParams 요청 파라미터 (값은 keep-params 와 `_` 로 시작하는 제어 파라미터만 그대로 기록하고,
+     *                      나머지는 형식만 남긴 값으로 바꿔 기록. `maskValue` 참고)
+     * @param elapsedNanos 응답 시간
+     * @param status HTTP 상태 코드
+     */
+    public void capture(long startedAt, Map<String, String> requestParams, long elapsedNanos, int status) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        List<String> masked = new ArrayList<>();
+        requestParams.forEach((name, value) -> {
+            if (!ROUTING_PARAMS.contains(name)) {
+                boolean keep = (name.startsWith("_") || keepParams.contains(name)) && !name.toLowerCase().contains("password");
+                params.put(name, keep ? value : maskValue(value));
+                if (!keep) {
+                    masked.add(name);
+                }
+            }
+        });
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("ts", startedAt);
+        entry.put("svc", requestParams.get("serviceName"));
+        entry.put("mth", requestParams.get("methodName"));
+        entry.put("usite", requestParams.getOrDefault("usiteNo", "1"));
+        entry.put("p", params);
+        entry.put("r", masked);
+        entry.put("ms", Math.round(elapsedNanos / 100_000.0) / 10.0);
+        entry.put("st", status);
+        try {
+            if (queue.offer(objectMapper.writeValueAsString(entry))) {
+                captured.incrementAndGet();
+            } else {
+                dropped.incrementAndGet();
+            }
+        } catch (JsonProcessingException e) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * 파라미터 값을 형식만 남기고 가립니다. 재실행 시 같은 동적 SQL 블록이 포함되고 파라미터 스키마의 타입 변환도 통과하도록,
+     * 빈 값은 그대로 두고 날짜는 같은 형식의 1970-01-01로, 숫자는 같은 자릿수의 1로, 그 외 문자는 글자 x/X, 숫자 0으로 바꿉니다.
+     */
+    static String maskValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        if (DATE_PATTERN.matcher(value).matches()) {
+            int digit = 0;
+            for (char c : value.toCharArray()) {
+                sb.append(Character.isDigit(c) ? (digit < DATE_MASK_DIGITS.length() ? DATE_MASK_DIGITS.charAt(digit++) : '0') : c);
+            }
+        } else if (NUMBER_PATTERN.matcher(value).matches()) {
+            for (char c : value.toCharArray()) {
+                sb.append(Character.isDigit(c) ? '1' : c);
+            }
+        } else {
+            for (char c : value.toCharArray()) {
+                if (Character.isDigit(c)) {
+                    sb.append('0');
+                } else if (Character.isLetter(c)) {
+                    sb.append(Character.isUpperCase(c) ? 'X' : 'x');
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 대기열에 쌓인 기록을 파일 끝에 추가합니다. 파일이 max-file-size 를 넘으면 기록을 중지합니다.
+     */
+    @Scheduled(fixedDelayString = "${monarch.capture.flush-interval:1000}")
+    public void flush() {
+        if (queue.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<String> lines = new ArrayList<>(queue.size());
+            queue.drainTo(lines);
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            written.addAndGet(lines.size());
+            if (enabled && Files.size(file) >= maxFileSize) {
+                log.warn("Workload capture file reached {} bytes. Capture stopped: {}", maxFileSize, file);
+                enabled = false;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write workload capture file {}: {}", file, e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        enabled = false;
+        flush();
+    }
+
+    /**
+     * 기록 여부, 파일 경로, 누적 기록/유실 건수를 반환합니다.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("file", file.toAbsolutePath().toString());
+        status.put("queued", queue.size());
+        status.put("captured", captured.get());
+        status.put("written", written.get());
+        status.put("dropped", dropped.get());
+        return status;
+    }
+}
@@ -0,0 +1,160 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.WorkloadLaneProperties;
+import com.kydbm.monarch.config.WorkloadLaneProperties.LaneOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 동적 쿼리를 작업 유형(lane)별로 나누어 실행하는 서비스.
+ * 긴 LIST 조회나 리포트가 동시 실행 수를 모두 차지하더라도 짧은 READ 조회(로그인 후 사용자 정보, 팝업 등)는
+ * 자기 lane의 실행 슬롯으로 바로 실행될 수 있습니다.
+ * lane은 서비스별 설정(`monarch.services[n].lane`) 또는 실행 타입(`monarch.lane.exec-types`)으로 정해집니다.
+ */
+@Service
+public class WorkloadLaneService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadLaneService.class);
+
+    private final WorkloadLaneProperties properties;
+    private final ServiceOptionsProperties serviceOptionsProperties;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public WorkloadLaneService(WorkloadLaneProperties properties, ServiceOptionsProperties serviceOptionsProperties,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.properties = properties;
+        this.serviceOptionsProperties = serviceOptionsProperties;
+        properties.getLanes().forEach((name, options) -> lanes.put(name, new Lane(name, options)));
+
+        int totalConcurrent = properties.getLanes().values().stream().mapToInt(LaneOptions::getMaxConcurrent).sum();
+        if (properties.isEnabled() && totalConcurrent > poolSize) {
+            log.warn("Sum of lane max-concurrent ({}) exceeds the connection pool size ({}). Lanes will compete for connections.",
+                    totalConcurrent, poolSize);
+        }
+    }
+
+    /**
+     * 서비스가 실행될 lane 이름을 결정합니다.
+     * @param serviceName 서비스명
+     * @param methodName 메소드명
+     * @param execType 이미 확인된 실행 타입 (모르면 null)
+     * @return lane 이름
+     */
+    public String resolveLane(String serviceName, String methodName, String execType) {
+        String lane = serviceOptionsProperties.find(serviceName, methodName)
+                .map(ServiceOptionsProperties.ServiceOptions::getLane)
+                .orElse(null);
+        if (lane == null && execType != null) {
+            lane = properties.getExecTypes().get(execType.toUpperCase());
+        }
+        return lane != null ? lane : properties.getDefaultLane();
+    }
+
+    /**
+     * lane의 실행 슬롯을 얻어 실행합니다. 슬롯이 없으면 대기열에서 기다리며,
+     * 대기열이 가득 찼거나 대기 시간을 넘기면 거절합니다.
+     * @param laneName lane 이름 (설정되지 않은 lane이면 제한 없이 실행)
+     * @param supplier 실제 실행
+     * @return 실행 결과
+     * @throws ServiceUnavailableException lane이 포화 상태일 때
+     */
+    public <T> T execute(String laneName, Supplier<T> supplier) {
+        Lane lane = lanes.get(laneName);
+        if (!properties.isEnabled() || lane == null) {
+            return supplier.get();
+        }
+
+        lane.acquire();
+        try {
+            return supplier.get();
+        } finally {
+            lane.release();
+        }
+    }
+
+    /**
+     * lane별 실행 중/대기 중 요청 수와 누적 거절 횟수를 반환합니다. (관리자 화면용)
+     */
+    public List<Map<String, Object>> getLaneStatus() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        lanes.values().forEach(lane -> result.add(lane.toStatus()));
+        return result;
+    }
+
+    /** 동시 실행 수와 대기열을 제한하는 lane 하나 */
+    private static class Lane {
+
+        final String name;
+        final LaneOptions options;
+        final Semaphore permits;
+        final AtomicInteger waiting = new AtomicInteger();
+        final AtomicInteger peakWaiting = new AtomicInteger();
+        final AtomicLong admitted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong timedOut = new AtomicLong();
+
+        Lane(String name, LaneOptions options) {
+            this.name = name;
+            this.options = options;
+            this.permits = new Semaphore(Math.max(1, options.getMaxConcurrent()), true);
+        }
+
+        void acquire() {
+            if (permits.tryAcquire()) {
+                admitted.incrementAndGet();
+                return;
+            }
+            int queued = waiting.incrementAndGet();
+            try {
+                if (queued > options.getQueueSize()) {
+                    rejected.incrementAndGet();
+                    throw new ServiceUnavailableException("Lane '" + name + "' is saturated", 1);
+                }
+                peakWaiting.accumulateAndGet(queued, Math::max);
+                if (!permits.tryAcquire(options.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    timedOut.incrementAndGet();
+                    throw new ServiceUnavailableException("Lane '" + name + "' queue timeout", 1);
+                }
+                admitted.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Interrupted while waiting for lane '" + name + "'", 1);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        Map<String, Object> toStatus() {
+            int maxConcurrent = Math.max(1, options.getMaxConcurrent());
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("lane", name);
+            status.put("maxConcurrent", maxConcurrent);
+            status.put("active", maxConcurrent - permits.availablePermits());
+            status.put("waiting", waiting.get());
+            status.put("peakWaiting", peakWaiting.get());
+            status.put("queueSize", options.getQueueSize());
+            status.put("admitted", admitted.get());
+            status.put("rejected", rejected.get());
+            status.put("timedOut", timedOut.get());
+            return status;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.kydbm.monarch.tool;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 워크로드 기록 파일(`monarch.capture.file`)을 로컬 인스턴스에 다시 실행하고, 기록 당시와 재실행 시의 응답 시간 분포를 비교하는 도구.
+ * 기록된 요청 간격을 speed 배로 줄여(또는 늘려) 응답을 기다리지 않고 요청을 보내므로(open-loop), 실제 운영 부하의 모양을 재현합니다.
+ * 값이 가려진 파라미터는 기록 시 형식만 남긴 값(날짜는 1970-01-01, 숫자는 1...)으로 바뀌어 있으므로 그대로 보내며,
+ * 기록 당시와 같은 동적 SQL 블록이 포함된 형태로 실행됩니다. (이전 형식의 `***` 값은 보내지 않습니다)
+ *
+ * <pre>
+ * java -cp monarch.jar -Dloader.main=com.kydbm.monarch.tool.WorkloadReplay \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      capture.jsonl --base-url=http://localhost:8080 --user=admin --password=... --speed=2 --limit=10000
+ * </pre>
+ */
+public final class WorkloadReplay {
+
+    /** 이전 형식의 기록 파일에서 값이 가려진 파라미터 */
+    private static final String LEGACY_REDACTED = "***";
+
+    private WorkloadReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: WorkloadReplay <capture-file> [--base-url=http://localhost:8080] [--user=] [--password=]"
+                    + " [--speed=1.0] [--limit=0] [--timeout=60s]");
+            System.exit(1);
+        }
+        Path captureFile = Path.of(args[0]);
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080").replaceAll("/$", "");
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1.0"));
+        int limit = Integer.parseInt(options.getOrDefault("limit", "0"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "60s").toUpperCase());
+
+        List<Map<String, Object>> entries = readCapture(captureFile, limit);
+        if (entries.isEmpty()) {
+            System.err.println("No captured requests in " + captureFile);
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        if (options.containsKey("user")) {
+            login(client, baseUrl, options.get("user"), options.getOrDefault("password", ""));
+        }
+
+        System.out.printf("Replaying %d requests from %s against %s at %.2fx speed%n", entries.size(), captureFile, baseUrl, speed);
+        Map<String, Stats> stats = replay(client, baseUrl, entries, speed, timeout);
+        printReport(stats);
+    }
+
+    private static List<Map<String, Object>> readCapture(Path captureFile, int limit) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Map<String, Object>> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(captureFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && (limit <= 0 || entries.size() < limit)) {
+                if (!line.isBlank()) {
+                    entries.add(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() { }));
+                }
+            }
+        }
+        entries.sort((a, b) -> Long.compare(((Number) a.get("ts")).longValue(), ((Number) b.get("ts")).longValue()));
+        return entries;
+    }
+
+    private static void login(HttpClient client, String baseUrl, String user, String password) throws Exception {
+        String form = "username=" + URLEncoder.encode(user, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed: HTTP " + response.statusCode());
+        }
+    }
+
+    /**
+     * 기록된 시각 간격에 맞추어 요청을 보내고, 서비스 메소드별로 기록 당시/재실행 응답 시간을 모읍니다.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Stats> replay(HttpClient client, String baseUrl, List<Map<String, Object>> entries,
+                                             double speed, Duration timeout) throws InterruptedException {
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long firstTs = ((Number) entries.get(0).get("ts")).longValue();
+        long startNanos = System.nanoTime();
+
+        for (Map<String, Object> entry : entries) {
+            long offsetNanos = (long) ((((Number) entry.get("ts")).longValue() - firstTs) * 1_000_000 / speed);
+            long waitNanos = startNanos + offsetNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            }
+
+            StringJoiner query = new StringJoiner("&");
+            query.add("serviceName=" + encode(entry.get("svc")));
+            query.add("methodName=" + encode(entry.get("mth")));
+            query.add("usiteNo=" + encode(entry.get("usite")));
+            ((Map<String, Object>) entry.getOrDefault("p", Map.of())).forEach((name, value) -> {
+                if (!LEGACY_REDACTED.equals(value)) {
+                    query.add(encode(name) + "=" + encode(value));
+                }
+            });
+            String key = entry.get("svc") + "." + entry.get("mth");
+            Stats serviceStats = stats.computeIfAbsent(key, k -> new Stats());
+            serviceStats.addRecorded(((Number) entry.get("ms")).doubleValue());
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/data/execute?" + query))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            long sentAt = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> serviceStats.addReplayed(
+                            (System.nanoTime() - sentAt) / 1_000_000.0, error == null && response.statusCode() < 400)));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return stats;
+    }
+
+    private static String encode(Object value) {
+        return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+
+    private static void printReport(Map<String, Stats> stats) {
+        Stats overall = new Stats();
+        String header = String.format("%-40s %7s %6s %21s %21s %21s", "service.method", "count", "errors",
+                "p50 rec/replay(ms)", "p90 rec/replay(ms)", "p99 rec/replay(ms)");
+        System.out.println(header);
+        new TreeMap<>(stats).forEach((key, serviceStats) -> {
+            overall.merge(serviceStats);
+            System.out.println(serviceStats.format(key));
+        });
+        System.out.println("-".repeat(header.length()));
+        System.out.println(overall.format("TOTAL"));
+    }
+
+    /** 서비스 메소드 하나의 기록 당시/재실행 응답 시간 목록 */
+    private static class Stats {
+
+        final List<Double> recorded = Collections.synchronizedList(new ArrayList<>());
+        final List<Double> replayed = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong errors = new AtomicLong();
+
+        void addRecorded(double millis) {
+            recorded.add(millis);
+        }
+
+        void addReplayed(double millis, boolean success) {
+            replayed.add(millis);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void merge(Stats other) {
+            recorded.addAll(other.recorded);
+            replayed.addAll(other.replayed);
+            errors.addAndGet(other.errors.get());
+        }
+
+        String format(String key) {
+            return String.format("%-40s %7d %6d %21s %21s %21s", key, replayed.size(), errors.get(),
+                    compare(0.50), compare(0.90), compare(0.99));
+        }
+
+        private String compare(double quantile) {
+            return String.format("%.1f / %.1f", percentile(recorded, quantile), percentile(replayed, quantile));
+        }
+
+        private static double percentile(List<Double> values, double quantile) {
+            List<Double> sorted;
+            synchronized (values) {
+                sorted = new ArrayList<>(values);
+            }
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kydbm.monarch.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV(RFC 4180) 레코드를 한 건씩 읽는 리더.
+ * 파일 전체를 메모리에 올리지 않고 스트림에서 바로 읽으며, 따옴표로 감싼 값 안의 구분자, 줄바꿈, 이스케이프된 따옴표("")를 처리합니다.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+    private int pushedBack;
+    private boolean hasPushedBack;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private boolean first = true;
+
+    /**
+     * @param reader 입력 (버퍼링된 Reader 권장)
+     * @param delimiter 값 구분자 (보통 쉼표 또는 탭)
+     */
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 다음 레코드를 읽습니다. 빈 줄은 건너뜁니다.
+     * @return 레코드의 값 목록. 더 읽을 레코드가 없으면 null
+     * @throws IOException 읽기에 실패했거나 닫히지 않은 따옴표로 파일이 끝났을 때
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (first) {
+            first = false;
+            if (c == BOM) {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            consumeLineBreak(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted value starting at line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                values.add(value.toString());
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /** 마지막으로 읽은 레코드가 시작된 줄 번호 (1부터 시작) */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /** 줄바꿈 문자를 읽은 뒤 호출하며, \r\n 이면 \n 까지 함께 소비합니다. */
+    private void consumeLineBreak(int c) throws IOException {
+        lineNumber++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                unread(next);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (hasPushedBack) {
+            hasPushedBack = false;
+            return pushedBack;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+        hasPushedBack = true;
+    }
+}
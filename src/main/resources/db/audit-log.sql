@@ -0,0 +1,15 @@
+-- 동적 쿼리(INSERT/UPDATE/DELETE) 감사 로그 테이블 (AuditLogService 가 일괄 저장)
+CREATE TABLE M_AUDIT_LOG (
+    AUDIT_NO      NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    USITE_NO      NUMBER,
+    USER_ID       VARCHAR2(100),
+    SERVICE_NAME  VARCHAR2(100) NOT NULL,
+    METHOD_NAME   VARCHAR2(100) NOT NULL,
+    EXEC_TYPE     VARCHAR2(20),
+    PARAMS_JSON   VARCHAR2(4000),
+    AFFECTED_ROWS NUMBER,
+    EXECUTED_AT   TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IX_M_AUDIT_LOG_01 ON M_AUDIT_LOG (USITE_NO, EXECUTED_AT);
+CREATE INDEX IX_M_AUDIT_LOG_02 ON M_AUDIT_LOG (SERVICE_NAME, METHOD_NAME, EXECUTED_AT);
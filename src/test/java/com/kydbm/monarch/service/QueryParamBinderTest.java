@@ -0,0 +1,145 @@
+package com.kydbm.monarch.service;
+
+import com.kydbm.monarch.config.ServiceOptionsProperties;
+import com.kydbm.monarch.config.ServiceOptionsProperties.ParamSchema;
+import com.kydbm.monarch.config.ServiceOptionsProperties.ServiceOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryParamBinderTest {
+
+    private QueryParamBinder binder;
+
+    @BeforeEach
+    void setUp() {
+        ServiceOptions options = new ServiceOptions();
+        options.setServiceName("M_ORDER");
+        options.setMethodName("LIST");
+        options.getParams().put("M_CUSTOMER_NO", schema("NUMERIC", null, true));
+        options.getParams().put("QTY", schema("INTEGER", null, false));
+        options.getParams().put("ORDER_DATE_FROM", schema("DATE", "yyyyMMdd", false));
+        options.getParams().put("REG_DATE", schema("TIMESTAMP", null, false));
+        options.getParams().put("USE_FLAG", schema("CHAR", null, false));
+
+        ServiceOptionsProperties properties = new ServiceOptionsProperties();
+        properties.getServices().add(options);
+        binder = new QueryParamBinder(properties);
+    }
+
+    @Test
+    void convertsValuesBySchemaType() {
+        Map<String, Object> converted = binder.convert("M_ORDER", "LIST", params(
+                "M_CUSTOMER_NO", " 1001 ",
+                "QTY", "3",
+                "ORDER_DATE_FROM", "20240131",
+                "REG_DATE", "2024-01-31 13:45:00",
+                "USE_FLAG", " Y",
+                "CUST_NAME", "홍길동"));
+
+        assertEquals(new BigDecimal("1001"), converted.get("M_CUSTOMER_NO"));
+        assertEquals(3L, converted.get("QTY"));
+        assertEquals(Date.valueOf(LocalDate.of(2024, 1, 31)), converted.get("ORDER_DATE_FROM"));
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2024, 1, 31, 13, 45)), converted.get("REG_DATE"));
+        // 문자열 타입은 공백을 포함해 그대로 전달하고, 스키마가 없는 파라미터도 그대로 둡니다.
+        assertEquals(" Y", converted.get("USE_FLAG"));
+        assertEquals("홍길동", converted.get("CUST_NAME"));
+    }
+
+    @Test
+    void treatsDateOnlyTimestampAsStartOfDay() {
+        Map<String, Object> converted = binder.convert("M_ORDER", "LIST", params(
+                "M_CUSTOMER_NO", "1", "REG_DATE", "2024-01-31"));
+
+        assertEquals(Timestamp.valueOf(LocalDate.of(2024, 1, 31).atStartOfDay()), converted.get("REG_DATE"));
+    }
+
+    @Test
+    void bindsBlankNonStringValueAsNull() {
+        Map<String, Object> converted = binder.convert("M_ORDER", "LIST", params(
+                "M_CUSTOMER_NO", "1", "QTY", "  ", "ORDER_DATE_FROM", ""));
+
+        assertNull(converted.get("QTY"));
+        assertNull(converted.get("ORDER_DATE_FROM"));
+    }
+
+    @Test
+    void rejectsMissingRequiredParameter() {
+        InvalidParameterException e = assertThrows(InvalidParameterException.class,
+                () -> binder.convert("M_ORDER", "LIST", params("M_CUSTOMER_NO", " ")));
+
+        assertEquals("M_CUSTOMER_NO", e.getParameterName());
+    }
+
+    @Test
+    void rejectsMalformedValues() {
+        InvalidParameterException number = assertThrows(InvalidParameterException.class,
+                () -> binder.convert("M_ORDER", "LIST", params("M_CUSTOMER_NO", "10O1")));
+        InvalidParameterException integer = assertThrows(InvalidParameterException.class,
+                () -> binder.convert("M_ORDER", "LIST", params("M_CUSTOMER_NO", "1", "QTY", "1.5")));
+        InvalidParameterException date = assertThrows(InvalidParameterException.class,
+                () -> binder.convert("M_ORDER", "LIST", params("M_CUSTOMER_NO", "1", "ORDER_DATE_FROM", "2024-01-31")));
+
+        assertEquals("M_CUSTOMER_NO", number.getParameterName());
+        assertEquals("QTY", integer.getParameterName());
+        assertEquals("ORDER_DATE_FROM", date.getParameterName());
+    }
+
+    @Test
+    void returnsSameMapWhenNoSchemaIsConfigured() {
+        Map<String, Object> queryParams = params("M_CUSTOMER_NO", "abc");
+
+        assertSame(queryParams, binder.convert("M_CUSTOMER", "LIST", queryParams));
+    }
+
+    @Test
+    void addsValueWithSchemaSqlType() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        binder.addValue(parameters, "M_ORDER", "LIST", "M_CUSTOMER_NO", "1001");
+        binder.addValue(parameters, "M_ORDER", "LIST", "CUST_NAME", "홍길동");
+
+        assertEquals(new BigDecimal("1001"), parameters.getValue("M_CUSTOMER_NO"));
+        assertEquals(Types.NUMERIC, parameters.getSqlType("M_CUSTOMER_NO"));
+        assertEquals("홍길동", parameters.getValue("CUST_NAME"));
+        assertEquals(MapSqlParameterSource.TYPE_UNKNOWN, parameters.getSqlType("CUST_NAME"));
+    }
+
+    @Test
+    void keepsAlreadyConvertedValue() {
+        BigDecimal customerNo = new BigDecimal("1001");
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        binder.addValue(parameters, "M_ORDER", "LIST", "M_CUSTOMER_NO", customerNo);
+
+        assertSame(customerNo, parameters.getValue("M_CUSTOMER_NO"));
+    }
+
+    private static ParamSchema schema(String type, String format, boolean required) {
+        ParamSchema schema = new ParamSchema();
+        schema.setType(type);
+        schema.setFormat(format);
+        schema.setRequired(required);
+        return schema;
+    }
+
+    private static Map<String, Object> params(String... nameValues) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            params.put(nameValues[i], nameValues[i + 1]);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kydbm.monarch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    @Test
+    void concurrentRequestsWithSameKeyShareOneExecution() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        Caller first = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            awaitLatch(release);
+            return result;
+        }, () -> true));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Caller second = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", () -> {
+            executions.incrementAndGet();
+            return new Object();
+        }, () -> true));
+        second.awaitWaiting();
+        release.countDown();
+
+        assertSame(result, first.join());
+        assertSame(result, second.join());
+        assertEquals(1, executions.get());
+        assertEquals(1L, coalescer.getStats().get("hits"));
+        assertEquals(0, coalescer.getStats().get("inFlight"));
+    }
+
+    @Test
+    void failureIsPropagatedToWaitingRequests() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("ORA-01013");
+
+        Caller first = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", () -> {
+            started.countDown();
+            awaitLatch(release);
+            throw failure;
+        }, () -> true));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Caller second = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", Object::new, () -> true));
+        second.awaitWaiting();
+        release.countDown();
+
+        assertSame(failure, first.joinFailure());
+        assertSame(failure, second.joinFailure());
+    }
+
+    @Test
+    void runsOwnExecutionWhenSharedResultIsNotShareable() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller first = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", () -> {
+            started.countDown();
+            awaitLatch(release);
+            return "shared";
+        }, () -> true));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Caller second = Caller.start(() -> coalescer.execute("1:M_ORDER.LIST", () -> "own", () -> false));
+        second.awaitWaiting();
+        release.countDown();
+
+        assertEquals("shared", first.join());
+        assertEquals("own", second.join());
+        assertEquals(1L, coalescer.getStats().get("rejectedShares"));
+        assertEquals(0L, coalescer.getStats().get("hits"));
+    }
+
+    @Test
+    void reusesResultWithinWindow() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<Integer> supplier = executions::incrementAndGet;
+
+        assertEquals(1, coalescer.execute("1:M_ORDER.LIST", supplier, () -> true));
+        assertEquals(1, coalescer.execute("1:M_ORDER.LIST", supplier, () -> true));
+        assertEquals(2, coalescer.execute("2:M_ORDER.LIST", supplier, () -> true));
+        assertEquals(1L, coalescer.getStats().get("hits"));
+        assertEquals(2L, coalescer.getStats().get("executions"));
+    }
+
+    @Test
+    void doesNotReuseFailureWithinWindow() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("1:M_ORDER.LIST", () -> {
+            throw new IllegalStateException("ORA-01013");
+        }, () -> true));
+
+        assertEquals("retried", coalescer.execute("1:M_ORDER.LIST", () -> "retried", () -> true));
+    }
+
+    @Test
+    void executesEveryRequestWhenDisabled() {
+        RequestCoalescer coalescer = new RequestCoalescer(false, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("1:M_ORDER.LIST", executions::incrementAndGet, () -> true);
+        coalescer.execute("1:M_ORDER.LIST", executions::incrementAndGet, () -> true);
+
+        assertEquals(2, executions.get());
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 별도 스레드에서 execute를 호출하고 결과나 예외를 보관합니다. */
+    private static final class Caller {
+
+        private final Thread thread;
+        private final AtomicReference<Object> result = new AtomicReference<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private Caller(Supplier<Object> call) {
+            this.thread = new Thread(() -> {
+                try {
+                    result.set(call.get());
+                } catch (RuntimeException e) {
+                    failure.set(e);
+                }
+            });
+        }
+
+        static Caller start(Supplier<Object> call) {
+            Caller caller = new Caller(call);
+            caller.thread.start();
+            return caller;
+        }
+
+        /** 먼저 실행 중인 요청의 결과를 기다리는 상태가 될 때까지 기다립니다. */
+        void awaitWaiting() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (thread.getState() != Thread.State.WAITING) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Caller did not start waiting: " + thread.getState());
+                }
+                Thread.sleep(1);
+            }
+        }
+
+        Object join() throws InterruptedException {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return result.get();
+        }
+
+        RuntimeException joinFailure() throws InterruptedException {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            return failure.get();
+        }
+    }
+}
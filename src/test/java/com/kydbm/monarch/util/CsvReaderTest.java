@@ -0,0 +1,89 @@
+package com.kydbm.monarch.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void readsSimpleRecords() throws IOException {
+        CsvReader reader = reader("CUST_CODE,CUST_NAME\nC01,홍길동\nC02,\n");
+
+        assertEquals(List.of("CUST_CODE", "CUST_NAME"), reader.readRecord());
+        assertEquals(List.of("C01", "홍길동"), reader.readRecord());
+        assertEquals(List.of("C02", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readsLastRecordWithoutLineBreak() throws IOException {
+        CsvReader reader = reader("C01,홍길동");
+
+        assertEquals(List.of("C01", "홍길동"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void handlesQuotedDelimiterAndEscapedQuote() throws IOException {
+        CsvReader reader = reader("\"서울, 강남구\",\"He said \"\"hi\"\"\",\"\"\n");
+
+        assertEquals(List.of("서울, 강남구", "He said \"hi\"", ""), reader.readRecord());
+    }
+
+    @Test
+    void keepsLineBreaksInQuotedValueAndTracksLineNumbers() throws IOException {
+        CsvReader reader = reader("C01,\"1층\r\n2층\"\r\nC02,3층\r\n");
+
+        assertEquals(List.of("C01", "1층\r\n2층"), reader.readRecord());
+        assertEquals(1, reader.getRecordLineNumber());
+        assertEquals(List.of("C02", "3층"), reader.readRecord());
+        assertEquals(3, reader.getRecordLineNumber());
+    }
+
+    @Test
+    void skipsBlankLinesAndCountsThem() throws IOException {
+        CsvReader reader = reader("C01\n\n\r\nC02\r\rC03");
+
+        assertEquals(List.of("C01"), reader.readRecord());
+        assertEquals(List.of("C02"), reader.readRecord());
+        assertEquals(4, reader.getRecordLineNumber());
+        assertEquals(List.of("C03"), reader.readRecord());
+        assertEquals(6, reader.getRecordLineNumber());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        CsvReader reader = reader("\uFEFFCUST_CODE,CUST_NAME\n");
+
+        assertEquals(List.of("CUST_CODE", "CUST_NAME"), reader.readRecord());
+    }
+
+    @Test
+    void usesGivenDelimiter() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("C01\t홍길동, 주임\n"), '\t');
+
+        assertEquals(List.of("C01", "홍길동, 주임"), reader.readRecord());
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedValue() throws IOException {
+        CsvReader reader = reader("C01,홍길동\nC02,\"미완성\n");
+        reader.readRecord();
+
+        IOException e = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new StringReader(content), ',');
+    }
+}